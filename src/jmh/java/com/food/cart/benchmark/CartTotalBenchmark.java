@@ -0,0 +1,90 @@
+package com.food.cart.benchmark;
+
+import com.food.cart.model.CartItem;
+import com.food.cart.pricing.MenuPriceSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The pricing loop of CartService.recalculateCartTotal, against the BigDecimal per-line
+// multiplication it replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartTotalBenchmark {
+
+    @Param({"3", "20"})
+    public int lines;
+
+    @Param({"200"})
+    public int menuSize;
+
+    private MenuPriceSnapshot snapshot;
+    private Map<Long, BigDecimal> priceMap;
+    private List<CartItem> cartItems;
+
+    @Setup
+    public void setUp() {
+        Random random = Payloads.random();
+        long[] ids = new long[menuSize];
+        BigDecimal[] prices = new BigDecimal[menuSize];
+        priceMap = new HashMap<>();
+        for (int i = 0; i < menuSize; i++) {
+            ids[i] = 1000 + i;
+            prices[i] = Payloads.price(random);
+            priceMap.put(ids[i], prices[i]);
+        }
+        snapshot = MenuPriceSnapshot.of(1L, 7L, ids, prices);
+
+        cartItems = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            CartItem item = new CartItem();
+            item.setId((long) i);
+            item.setMenuItemId(ids[random.nextInt(menuSize)]);
+            item.setQuantity(1 + random.nextInt(4));
+            cartItems.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal snapshotMinorUnits() {
+        long total = 0;
+        for (CartItem item : cartItems) {
+            long price = snapshot.priceMinor(item.getMenuItemId());
+            if (price < 0) {
+                throw new IllegalStateException("Menu item not found");
+            }
+            total += price * item.getQuantity();
+        }
+        return MenuPriceSnapshot.toAmount(total);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPerLine() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartItem item : cartItems) {
+            BigDecimal price = priceMap.get(item.getMenuItemId());
+            total = total.add(price.multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
+    }
+}
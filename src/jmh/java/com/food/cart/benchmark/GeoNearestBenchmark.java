@@ -0,0 +1,83 @@
+package com.food.cart.benchmark;
+
+import com.food.cart.geo.GeoGridIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/shops/nearby over 100k shops spread across a metro-sized area, against the linear
+// scan the grid replaced
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoNearestBenchmark {
+
+    private static final double CENTER_LAT = 12.97;
+    private static final double CENTER_LON = 77.59;
+    private static final double SPREAD_DEGREES = 0.5;
+
+    @Param({"100000"})
+    public int shops;
+
+    @Param({"2", "10"})
+    public double radiusKm;
+
+    private GeoGridIndex index;
+    private double[] lats;
+    private double[] lons;
+    private double[] queryLats;
+    private double[] queryLons;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = Payloads.random();
+        index = new GeoGridIndex(0.02);
+        lats = new double[shops];
+        lons = new double[shops];
+        for (int i = 0; i < shops; i++) {
+            lats[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            lons[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            index.put(i, lats[i], lons[i]);
+        }
+        queryLats = new double[1024];
+        queryLons = new double[1024];
+        for (int i = 0; i < queryLats.length; i++) {
+            queryLats[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            queryLons[i] = CENTER_LON + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+        }
+    }
+
+    @Benchmark
+    public List<GeoGridIndex.Neighbor> gridNearest() {
+        int q = next++ & (queryLats.length - 1);
+        return index.nearest(queryLats[q], queryLons[q], radiusKm, 20);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int q = next++ & (queryLats.length - 1);
+        int within = 0;
+        for (int i = 0; i < shops; i++) {
+            if (GeoGridIndex.distanceKm(queryLats[q], queryLons[q], lats[i], lons[i]) <= radiusKm) {
+                within++;
+            }
+        }
+        return within;
+    }
+}
@@ -0,0 +1,99 @@
+package com.food.cart.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.food.cart.dto.CartDTO;
+import com.food.cart.dto.CartItemDTO;
+import com.food.cart.dto.MenuItemResponseDTO;
+import com.food.cart.dto.OrderDTO;
+import com.food.cart.dto.OrderItemDTO;
+import com.food.cart.model.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies of GET /api/cart, /api/orders/my-history and /api/shops/{id}/menu. imageBytes
+// is the decoded size of each inline image; 0 is the payload without images.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"0", "16384", "262144"})
+    public int imageBytes;
+
+    private ObjectWriter writer;
+    private CartDTO cart;
+    private List<OrderDTO> orderHistory;
+    private List<MenuItemResponseDTO> menu;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the mapper Spring Boot configures
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        Random random = Payloads.random();
+
+        List<CartItemDTO> cartItems = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < 5; i++) {
+            BigDecimal price = Payloads.price(random);
+            int quantity = 1 + random.nextInt(3);
+            cartItems.add(new CartItemDTO((long) i, 1000L + i, Payloads.name(random, 3), price, quantity,
+                    Payloads.imageDataUrl(random, imageBytes)));
+            total = total.add(price.multiply(BigDecimal.valueOf(quantity)));
+        }
+        cart = new CartDTO(1L, 1L, "Shop One", cartItems, total);
+
+        orderHistory = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            List<OrderItemDTO> items = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                items.add(new OrderItemDTO((long) (i * 3 + j), Payloads.name(random, 3), 1 + random.nextInt(3),
+                        Payloads.price(random)));
+            }
+            orderHistory.add(new OrderDTO((long) i, 1L, "Shop One", "customer0001", Payloads.price(random),
+                    OrderStatus.DELIVERED, LocalDateTime.of(2024, 1, 1, 12, 0).plusHours(i), items));
+        }
+
+        menu = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            menu.add(new MenuItemResponseDTO(1000L + i, Payloads.name(random, 3), Payloads.name(random, 12),
+                    Payloads.price(random), Payloads.imageDataUrl(random, imageBytes), i % 3 == 0 ? 50 : null));
+        }
+    }
+
+    @Benchmark
+    public byte[] cart() throws Exception {
+        return writer.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] orderHistory() throws Exception {
+        return writer.writeValueAsBytes(orderHistory);
+    }
+
+    @Benchmark
+    public byte[] menu() throws Exception {
+        return writer.writeValueAsBytes(menu);
+    }
+}
@@ -0,0 +1,104 @@
+package com.food.cart.benchmark;
+
+import com.food.cart.dto.OrderDTO;
+import com.food.cart.dto.OrderItemDTO;
+import com.food.cart.model.Order;
+import com.food.cart.model.OrderStatus;
+import com.food.cart.model.Shop;
+import com.food.cart.model.User;
+import com.food.cart.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// OrderService.convertToOrderDTO as used by order history, one order at a time. The method is
+// private; a method handle in a static final field is inlined by the JIT like a direct call.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderConversionBenchmark {
+
+    private static final MethodHandle CONVERT;
+
+    static {
+        try {
+            CONVERT = MethodHandles.privateLookupIn(OrderService.class, MethodHandles.lookup())
+                    .findVirtual(OrderService.class, "convertToOrderDTO",
+                            MethodType.methodType(OrderDTO.class, Order.class, List.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"50"})
+    public int orders;
+
+    @Param({"4"})
+    public int itemsPerOrder;
+
+    private final OrderService orderService = new OrderService();
+    private List<Order> orderList;
+    private List<List<OrderItemDTO>> itemLists;
+
+    @Setup
+    public void setUp() {
+        Random random = Payloads.random();
+        Shop shop = new Shop();
+        shop.setId(1L);
+        shop.setShopName("Shop One");
+        User customer = new User();
+        customer.setId(2L);
+        customer.setUsername("customer0001");
+
+        orderList = new ArrayList<>();
+        itemLists = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order();
+            order.setId((long) i);
+            order.setShopId(1L);
+            order.setCustomerId(2L);
+            order.setShop(shop);
+            order.setCustomer(customer);
+            order.setStatus(OrderStatus.DELIVERED);
+            order.setTotalAmount(Payloads.price(random));
+            order.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+            orderList.add(order);
+
+            List<OrderItemDTO> items = new ArrayList<>();
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(new OrderItemDTO((long) (i * itemsPerOrder + j), Payloads.name(random, 3),
+                        1 + random.nextInt(3), Payloads.price(random)));
+            }
+            itemLists.add(items);
+        }
+    }
+
+    @Benchmark
+    public List<OrderDTO> convertOrderHistory() throws Throwable {
+        List<OrderDTO> result = new ArrayList<>(orderList.size());
+        for (int i = 0; i < orderList.size(); i++) {
+            result.add((OrderDTO) CONVERT.invokeExact(orderService, orderList.get(i), itemLists.get(i)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package com.food.cart.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.Random;
+
+// Deterministic fixture data shared by the benchmarks, shaped like production rows
+final class Payloads {
+
+    static final String[] WORDS = {
+            "chicken", "paneer", "masala", "biryani", "spicy", "grilled", "butter", "garlic", "naan", "tikka",
+            "veg", "wrap", "burger", "cheese", "fries", "coffee", "cold", "lemon", "mint", "mango",
+            "lassi", "dosa", "idli", "sambar", "roll", "momo", "noodles", "fried", "rice", "soup"
+    };
+
+    private Payloads() {
+    }
+
+    static Random random() {
+        return new Random(42);
+    }
+
+    static String name(Random random, int words) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                name.append(' ');
+            }
+            name.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return name.toString();
+    }
+
+    static BigDecimal price(Random random) {
+        return BigDecimal.valueOf(50 + random.nextInt(45000), 2);
+    }
+
+    // Menu images are stored inline as data URLs, so responses can carry hundreds of kilobytes
+    static String imageDataUrl(Random random, int bytes) {
+        if (bytes == 0) {
+            return null;
+        }
+        byte[] image = new byte[bytes];
+        random.nextBytes(image);
+        return "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+    }
+}
@@ -0,0 +1,54 @@
+package com.food.cart.benchmark;
+
+import com.food.cart.search.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/search over 100k menu items: exact terms, a prefix while typing, and a misspelling
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"100000"})
+    public int items;
+
+    @Param({"paneer tikka", "biry", "chiken"})
+    public String query;
+
+    private SearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = Payloads.random();
+        List<SearchIndex.Doc> docs = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            docs.add(new SearchIndex.Doc(SearchIndex.DocType.MENU_ITEM, i, i / 50,
+                    Payloads.name(random, 3), Payloads.name(random, 10), Payloads.price(random)));
+        }
+        index = new SearchIndex();
+        index.replaceAll(docs);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> search() {
+        return index.search(query, 20);
+    }
+}
@@ -0,0 +1,57 @@
+package com.food.cart.benchmark;
+
+import com.food.cart.stock.StockCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 200 buyers checking out the same popular item at once. Each operation reserves and then
+// releases, so the counter never runs dry and every call takes the contended CAS path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(200)
+public class StockContentionBenchmark {
+
+    private static final long HOT_ITEM = 1L;
+    private static final long SIDE_ITEM = 2L;
+
+    private StockCounters counters;
+
+    @Setup
+    public void setUp() {
+        counters = new StockCounters();
+        counters.set(HOT_ITEM, 1_000_000);
+        counters.set(SIDE_ITEM, 1_000_000);
+    }
+
+    @Benchmark
+    public Long reserveSingleItem() {
+        Map<Long, Integer> line = Map.of(HOT_ITEM, 1);
+        Long soldOut = counters.reserveAll(line);
+        counters.releaseAll(line);
+        return soldOut;
+    }
+
+    @Benchmark
+    public Long reserveTwoLineOrder() {
+        Map<Long, Integer> lines = Map.of(HOT_ITEM, 2, SIDE_ITEM, 1);
+        Long soldOut = counters.reserveAll(lines);
+        counters.releaseAll(lines);
+        return soldOut;
+    }
+}
@@ -0,0 +1,86 @@
+package com.food.cart.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+// Thin JSON client over java.net.http that times every call under a templated endpoint name,
+// so /api/shops/7/menu and /api/shops/9/menu land in the same histogram
+class ApiClient {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private volatile LatencyReport report;
+
+    ApiClient(String baseUrl, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    void reportTo(LatencyReport report) {
+        this.report = report;
+    }
+
+    JsonNode get(String endpoint, String path, String token) throws IOException, InterruptedException {
+        return send(endpoint, request(path, token).GET());
+    }
+
+    JsonNode post(String endpoint, String path, String token, Object body) throws IOException, InterruptedException {
+        return send(endpoint, request(path, token).POST(body(body)));
+    }
+
+    JsonNode put(String endpoint, String path, String token, Object body) throws IOException, InterruptedException {
+        return send(endpoint, request(path, token).PUT(body(body)));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private static HttpRequest.BodyPublisher body(Object body) throws IOException {
+        return body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body));
+    }
+
+    // Returns the parsed body of a 2xx response, or null for any other status (counted as an error)
+    private JsonNode send(String endpoint, HttpRequest.Builder builder) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - start, false);
+            throw e;
+        }
+        boolean ok = response.statusCode() / 100 == 2;
+        report.record(endpoint, System.nanoTime() - start, ok);
+        if (!ok) {
+            return null;
+        }
+        byte[] bytes = response.body();
+        if (bytes.length == 0 || bytes[0] != '{' && bytes[0] != '[') {
+            return JSON.getNodeFactory().textNode(new String(bytes));
+        }
+        return JSON.readTree(bytes);
+    }
+}
@@ -0,0 +1,71 @@
+package com.food.cart.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency histograms for one stage of the run. Values are recorded in microseconds
+// with three significant digits, up to one minute.
+class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, ConcurrentHistogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        long micros = Math.min(MAX_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        histograms.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(MAX_MICROS, 3)).recordValue(micros);
+        if (!ok) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    double p99Millis(String endpoint) {
+        Histogram histogram = histograms.get(endpoint);
+        return histogram == null ? 0 : histogram.getValueAtPercentile(99) / 1000.0;
+    }
+
+    List<Map<String, Object>> rows(double seconds) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, ConcurrentHistogram> entry : histograms.entrySet()) {
+            Histogram h = entry.getValue();
+            LongAdder failed = errors.get(entry.getKey());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", entry.getKey());
+            row.put("requests", h.getTotalCount());
+            row.put("errors", failed == null ? 0 : failed.sum());
+            row.put("throughputPerSec", round(h.getTotalCount() / seconds));
+            row.put("p50Ms", round(h.getValueAtPercentile(50) / 1000.0));
+            row.put("p90Ms", round(h.getValueAtPercentile(90) / 1000.0));
+            row.put("p99Ms", round(h.getValueAtPercentile(99) / 1000.0));
+            row.put("p999Ms", round(h.getValueAtPercentile(99.9) / 1000.0));
+            row.put("maxMs", round(h.getMaxValue() / 1000.0));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    void print(double seconds) {
+        System.out.printf(Locale.ROOT, "%-36s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> row : rows(seconds)) {
+            System.out.printf(Locale.ROOT, "%-36s %8d %7d %8.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    row.get("endpoint"), row.get("requests"), row.get("errors"), row.get("throughputPerSec"),
+                    row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs"));
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,191 @@
+package com.food.cart.loadtest;
+
+import com.food.cart.FoodCartPlatformApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Open-model lunch-rush driver. Customer sessions arrive at a fixed rate per stage, independent of
+// how fast earlier ones finish, and each stage reports per-endpoint latency. The sweep stops at
+// the first stage whose checkout p99 breaks the SLO; the stage before it is the sustained rate.
+//
+// mvn -Ploadtest verify -Dloadtest.args="--rates=5,10,20,40 --stage-seconds=60"
+// Without --target the application is started in-process on the loadtest profile (H2 in MySQL mode);
+// --app-profiles=loadtest,virtual-threads on a -Pjava21 build compares against platform threads;
+// for numbers, run the application in its own JVM and use --target, since in-process the
+// generator's virtual threads share carrier threads with the server's. Results and commands are in
+// src/loadtest/results/virtual-threads.
+public class LunchRushLoadGenerator {
+
+    private static final String CHECKOUT = "POST /api/orders/place";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int[] rates = Arrays.stream(options.getOrDefault("rates", "2,5,10,20").split(","))
+                .mapToInt(r -> Integer.parseInt(r.trim())).toArray();
+        int stageSeconds = Integer.parseInt(options.getOrDefault("stage-seconds", "60"));
+        int shops = Integer.parseInt(options.getOrDefault("shops", "10"));
+        int menuItems = Integer.parseInt(options.getOrDefault("menu-items", "15"));
+        int thinkMillis = Integer.parseInt(options.getOrDefault("think-ms", "300"));
+        double returning = Double.parseDouble(options.getOrDefault("returning", "0.7"));
+        double sloMillis = Double.parseDouble(options.getOrDefault("p99-slo-ms", "500"));
+        int ownerIntervalMillis = Integer.parseInt(options.getOrDefault("owner-interval-ms", "1000"));
+        String reportPath = options.getOrDefault("report", "target/loadtest-report.json");
+        String appProfiles = options.getOrDefault("app-profiles", "loadtest");
+
+        ConfigurableApplicationContext app = null;
+        String target = options.get("target");
+        if (target == null) {
+            app = SpringApplication.run(FoodCartPlatformApplication.class, "--spring.profiles.active=" + appProfiles);
+            target = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        }
+
+        ExecutorService sessions = newVirtualThreadExecutor();
+        ScheduledExecutorService arrivals = Executors.newSingleThreadScheduledExecutor();
+        ApiClient api = new ApiClient(target, sessions);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        LunchRushScenario scenario = new LunchRushScenario(api, runId, thinkMillis, returning);
+
+        api.reportTo(new LatencyReport());
+        scenario.setUpShops(shops, menuItems);
+        System.out.printf(Locale.ROOT, "Target %s, %d shops x %d items, %s threads%n",
+                target, shops, menuItems, isVirtual(sessions) ? "virtual" : "platform");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        for (String ownerToken : scenario.getOwnerTokens()) {
+            sessions.submit(() -> {
+                while (running.get()) {
+                    try {
+                        scenario.ownerPass(ownerToken, 20);
+                        Thread.sleep(ownerIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        // Counted as an error by the client; the owner keeps working
+                    }
+                }
+            });
+        }
+
+        List<Map<String, Object>> stages = new ArrayList<>();
+        Integer sustained = null;
+        for (int rate : rates) {
+            LatencyReport report = new LatencyReport();
+            api.reportTo(report);
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger peakInFlight = new AtomicInteger();
+            AtomicLong failedSessions = new AtomicLong();
+
+            long start = System.nanoTime();
+            ScheduledFuture<?> schedule = arrivals.scheduleAtFixedRate(() -> sessions.submit(() -> {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    scenario.customerSession();
+                } catch (Exception e) {
+                    failedSessions.incrementAndGet();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }), 0, TimeUnit.SECONDS.toNanos(1) / rate, TimeUnit.NANOSECONDS);
+            Thread.sleep(TimeUnit.SECONDS.toMillis(stageSeconds));
+            schedule.cancel(false);
+            // Let sessions that already arrived finish so their checkouts count in this stage
+            long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+                Thread.sleep(50);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            double checkoutP99 = report.p99Millis(CHECKOUT);
+            boolean withinSlo = checkoutP99 <= sloMillis;
+            System.out.printf(Locale.ROOT, "%n== %d sessions/s for %ds: peak %d concurrent customers, %d failed sessions,"
+                            + " checkout p99 %.1f ms (%s)%n",
+                    rate, stageSeconds, peakInFlight.get(), failedSessions.get(), checkoutP99,
+                    withinSlo ? "within SLO" : "over " + sloMillis + " ms SLO");
+            report.print(seconds);
+
+            Map<String, Object> stage = new LinkedHashMap<>();
+            stage.put("sessionsPerSecond", rate);
+            stage.put("seconds", Math.round(seconds));
+            stage.put("peakConcurrentCustomers", peakInFlight.get());
+            stage.put("failedSessions", failedSessions.get());
+            stage.put("checkoutP99Ms", checkoutP99);
+            stage.put("withinSlo", withinSlo);
+            stage.put("endpoints", report.rows(seconds));
+            stages.add(stage);
+
+            if (!withinSlo) {
+                break;
+            }
+            sustained = rate;
+        }
+
+        // Owners stop after their current pass; stragglers get a grace period before the app goes away
+        running.set(false);
+        arrivals.shutdownNow();
+        sessions.shutdown();
+        if (!sessions.awaitTermination(30, TimeUnit.SECONDS)) {
+            sessions.shutdownNow();
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("target", target);
+        result.put("virtualThreads", isVirtual(sessions));
+        result.put("p99SloMs", sloMillis);
+        result.put("sustainedSessionsPerSecond", sustained);
+        result.put("stages", stages);
+        File reportFile = new File(reportPath);
+        if (reportFile.getParentFile() != null) {
+            reportFile.getParentFile().mkdirs();
+        }
+        ApiClient.JSON.writerWithDefaultPrettyPrinter().writeValue(reportFile, result);
+        System.out.printf(Locale.ROOT, "%nSustained rate: %s sessions/s. Report written to %s%n",
+                sustained == null ? "none" : sustained, reportFile.getAbsolutePath());
+
+        if (app != null) {
+            app.close();
+        }
+        System.exit(0);
+    }
+
+    // Virtual threads when the JVM has them (21+); the module still builds and runs on 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static boolean isVirtual(ExecutorService executor) {
+        return executor.getClass().getName().contains("ThreadPerTask");
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+}
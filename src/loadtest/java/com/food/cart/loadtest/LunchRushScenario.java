@@ -0,0 +1,158 @@
+package com.food.cart.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The flows a lunch rush is made of, scripted against the public API: owners set up shops and
+// work through incoming orders; customers sign in, browse, fill a cart and check out
+class LunchRushScenario {
+
+    private static final String PASSWORD = "loadtest-secret";
+    private static final String[] DISHES = {
+            "Paneer Tikka", "Chicken Biryani", "Masala Dosa", "Veg Wrap", "Butter Naan", "Mango Lassi",
+            "Cold Coffee", "Momo Platter", "Hakka Noodles", "Lemon Rice", "Cheese Burger", "Peri Fries"
+    };
+
+    private final ApiClient api;
+    private final String runId;
+    private final int thinkMillis;
+    private final double returningShare;
+
+    private final List<String> ownerTokens = new ArrayList<>();
+    private final Queue<String> idleCustomers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong customerSeq = new AtomicLong();
+
+    LunchRushScenario(ApiClient api, String runId, int thinkMillis, double returningShare) {
+        this.api = api;
+        this.runId = runId;
+        this.thinkMillis = thinkMillis;
+        this.returningShare = returningShare;
+    }
+
+    void setUpShops(int shops, int itemsPerShop) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int s = 0; s < shops; s++) {
+            String owner = "owner-" + runId + "-" + s;
+            api.post("POST /api/auth/register/owner", "/api/auth/register/owner", null, Map.of(
+                    "username", owner,
+                    "email", owner + "@loadtest.local",
+                    "password", PASSWORD,
+                    "shopName", "Lunch Spot " + runId + " " + s,
+                    "description", "Load test shop",
+                    "address", s + " Test Street",
+                    "latitude", 12.9 + random.nextDouble() * 0.2,
+                    "longitude", 77.5 + random.nextDouble() * 0.2));
+            String token = login(owner);
+            ownerTokens.add(token);
+            for (int i = 0; i < itemsPerShop; i++) {
+                api.post("POST /api/owner/menu", "/api/owner/menu", token, Map.of(
+                        "name", DISHES[i % DISHES.length] + " " + (i / DISHES.length + 1),
+                        "description", "Freshly made",
+                        "price", BigDecimal.valueOf(50 + random.nextInt(400), 0)));
+            }
+        }
+    }
+
+    List<String> getOwnerTokens() {
+        return ownerTokens;
+    }
+
+    // One customer visit from sign-in to checkout
+    void customerSession() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String username = random.nextDouble() < returningShare ? idleCustomers.poll() : null;
+        if (username == null) {
+            username = "customer-" + runId + "-" + customerSeq.incrementAndGet();
+            api.post("POST /api/auth/register/customer", "/api/auth/register/customer", null, Map.of(
+                    "username", username,
+                    "email", username + "@loadtest.local",
+                    "password", PASSWORD));
+        }
+        try {
+            String token = login(username);
+            if (token == null) {
+                return;
+            }
+            think();
+
+            JsonNode shops = api.get("GET /api/shops", "/api/shops", null);
+            if (shops == null || shops.size() == 0) {
+                return;
+            }
+            long shopId = shops.get(random.nextInt(shops.size())).path("id").asLong();
+            think();
+
+            JsonNode menu = api.get("GET /api/shops/{id}/menu", "/api/shops/" + shopId + "/menu", null);
+            if (menu == null || menu.size() == 0) {
+                return;
+            }
+            think();
+
+            int lines = 1 + random.nextInt(3);
+            for (int i = 0; i < lines; i++) {
+                long itemId = menu.get(random.nextInt(menu.size())).path("id").asLong();
+                api.post("POST /api/cart/add", "/api/cart/add", token,
+                        Map.of("menuItemId", itemId, "quantity", 1 + random.nextInt(2)));
+                think();
+            }
+
+            api.get("GET /api/cart", "/api/cart", token);
+            think();
+            api.post("POST /api/orders/place", "/api/orders/place", token, null);
+
+            if (random.nextInt(3) == 0) {
+                think();
+                api.get("GET /api/orders/my-history", "/api/orders/my-history", token);
+            }
+        } finally {
+            idleCustomers.add(username);
+        }
+    }
+
+    // One pass of an owner's order screen: refresh, then move each open order one step along
+    void ownerPass(String token, int maxUpdates) throws IOException, InterruptedException {
+        JsonNode orders = api.get("GET /api/owner/orders", "/api/owner/orders", token);
+        if (orders == null) {
+            return;
+        }
+        int updates = 0;
+        for (JsonNode order : orders) {
+            String next = switch (order.path("status").asText()) {
+                case "PENDING" -> "PREPARING";
+                case "PREPARING" -> "READY";
+                case "READY" -> "DELIVERED";
+                default -> null;
+            };
+            if (next == null) {
+                continue;
+            }
+            api.put("PUT /api/owner/orders/{id}/status", "/api/owner/orders/" + order.path("id").asLong() + "/status",
+                    token, Map.of("status", next));
+            if (++updates >= maxUpdates) {
+                break;
+            }
+        }
+    }
+
+    private String login(String username) throws IOException, InterruptedException {
+        JsonNode response = api.post("POST /api/auth/login", "/api/auth/login", null,
+                Map.of("username", username, "password", PASSWORD));
+        return response == null ? null : response.path("token").asText(null);
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            // Uniform in [0.5, 1.5) x think time
+            Thread.sleep(thinkMillis / 2 + ThreadLocalRandom.current().nextInt(thinkMillis));
+        }
+    }
+}
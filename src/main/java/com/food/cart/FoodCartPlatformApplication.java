@@ -2,11 +2,18 @@ package com.food.cart;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class FoodCartPlatformApplication {
 
+    // Enough for every bean and auto-configuration step of a full startup
+    private static final int STARTUP_STEPS = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(FoodCartPlatformApplication.class, args);
+        SpringApplication application = new SpringApplication(FoodCartPlatformApplication.class);
+        // Startup steps are kept for /actuator/startup and StartupTimelineReport
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 }
@@ -0,0 +1,31 @@
+package com.food.cart.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+// Writes made over JDBC bypass Hibernate, so the second-level cache keeps the old row until it
+// expires. Every JDBC writer of a cached table evicts what it touched once its transaction commits.
+@Component
+public class EntityCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictAfterCommit(Class<?> entity, Object id) {
+        AfterCommit.run(() -> entityManagerFactory.getCache().evict(entity, id));
+    }
+
+    public void evictAfterCommit(Class<?> entity, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> ids.forEach(id -> entityManagerFactory.getCache().evict(entity, id)));
+    }
+
+    public void evictAll(Class<?> entity) {
+        AfterCommit.run(() -> entityManagerFactory.getCache().evict(entity));
+    }
+}
@@ -0,0 +1,127 @@
+package com.food.cart.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class MenuResponseCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${menu-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    public CachedResponse get(Long shopId, Supplier<?> loader) {
+        Entry entry = entries.get(shopId);
+        if (entry != null) {
+            entry.lastAccess = System.nanoTime();
+            return entry.response;
+        }
+        return load(shopId, loader);
+    }
+
+    public void invalidate(Long shopId) {
+        AfterCommit.run(() -> {
+            generations.merge(shopId, 1L, Long::sum);
+            Entry removed = entries.remove(shopId);
+            if (removed != null) {
+                totalBytes.addAndGet(-removed.response.getSizeInBytes());
+            }
+        });
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    private CachedResponse load(Long shopId, Supplier<?> loader) {
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(shopId, mine);
+        if (existing != null) {
+            return ShopCatalogCache.join(existing);
+        }
+
+        try {
+            long generation = generations.getOrDefault(shopId, 0L);
+            CachedResponse built = CachedResponse.of(objectMapper, ReplicaRoutingDataSource.onPrimary(loader), generation);
+            install(shopId, built);
+            mine.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(shopId, mine);
+        }
+    }
+
+    private void install(Long shopId, CachedResponse built) {
+        if (built.getSizeInBytes() > maxBytes) {
+            return;
+        }
+        Entry installed = entries.compute(shopId, (id, old) -> {
+            // Skip the install if the menu changed while it was being loaded
+            if (generations.getOrDefault(id, 0L) != built.getVersion()) {
+                return old;
+            }
+            if (old != null) {
+                totalBytes.addAndGet(-old.response.getSizeInBytes());
+            }
+            totalBytes.addAndGet(built.getSizeInBytes());
+            return new Entry(built);
+        });
+        if (installed != null && totalBytes.get() > maxBytes) {
+            evict();
+        }
+    }
+
+    // Drops least recently used menus until the cache is back under its byte budget
+    private synchronized void evict() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Map.Entry<Long, Entry>> candidates = new ArrayList<>(entries.entrySet());
+        candidates.sort(Comparator.comparingLong(e -> e.getValue().lastAccess));
+        for (Map.Entry<Long, Entry> candidate : candidates) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                totalBytes.addAndGet(-candidate.getValue().response.getSizeInBytes());
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final CachedResponse response;
+
+        private volatile long lastAccess;
+
+        private Entry(CachedResponse response) {
+            this.response = response;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
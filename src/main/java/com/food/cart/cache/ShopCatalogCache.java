@@ -0,0 +1,76 @@
+package com.food.cart.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.datasource.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+public class ShopCatalogCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile CachedResponse snapshot;
+
+    private final AtomicReference<CompletableFuture<CachedResponse>> inFlight = new AtomicReference<>();
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public CachedResponse get(Supplier<?> loader) {
+        CachedResponse current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        return load(loader);
+    }
+
+    // Bumps the version once the surrounding transaction commits, so a rebuild never reads uncommitted rows
+    public void invalidate() {
+        AfterCommit.run(version::incrementAndGet);
+    }
+
+    private CachedResponse load(Supplier<?> loader) {
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.compareAndExchange(null, mine);
+        if (existing != null) {
+            // Another request is already rebuilding; wait for its result instead of hitting the database again
+            return join(existing);
+        }
+
+        try {
+            long loadVersion = version.get();
+            // From the primary: a lagging replica would be cached under the version that invalidated it
+            CachedResponse built = CachedResponse.of(objectMapper, ReplicaRoutingDataSource.onPrimary(loader), loadVersion);
+            snapshot = built;
+            mine.complete(built);
+            return built;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    static CachedResponse join(CompletableFuture<CachedResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.food.cart.config;
+
+import com.food.cart.datasource.ReplicaHealthMonitor;
+import com.food.cart.datasource.ReplicaNode;
+import com.food.cart.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only active with replica.enabled=true; otherwise Spring Boot's single primary pool is used as before
+@Configuration
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    @Value("${replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${replica.max-lag-ms:5000}")
+    private long maxLagMillis;
+
+    @Value("${replica.sticky-ms:5000}")
+    private long stickyMillis;
+
+    @Bean(name = "primaryDataSource")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+            @Qualifier("primaryDataSource") DataSource primary) {
+        List<ReplicaNode> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(new ReplicaNode(replica.getPoolName(), replica));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, stickyMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            ReplicaRoutingDataSource routingDataSource) {
+        return new ReplicaHealthMonitor(primary, routingDataSource, maxLagMillis);
+    }
+}
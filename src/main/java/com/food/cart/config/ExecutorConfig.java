@@ -0,0 +1,53 @@
+package com.food.cart.config;
+
+import com.food.cart.sqlstats.RequestSqlStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${dashboard.executor.pool-size:8}")
+    private int dashboardPoolSize;
+
+    @Value("${dashboard.executor.queue-capacity:100}")
+    private int dashboardQueueCapacity;
+
+    @Bean(name = "dashboardExecutor")
+    public AsyncTaskExecutor dashboardExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // One virtual thread per section; database concurrency is capped by the JDBC limiter instead
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-");
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(ExecutorConfig::fromCallingRequest);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dashboardPoolSize);
+        executor.setMaxPoolSize(dashboardPoolSize);
+        executor.setQueueCapacity(dashboardQueueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setTaskDecorator(ExecutorConfig::fromCallingRequest);
+        // Reject instead of running on the request thread; the section is reported as unavailable
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // Sections count toward the calling request's SQL statistics and run as the calling user, which
+    // keeps read-your-writes routing in ReplicaRoutingDataSource sticky to the primary for them too
+    private static Runnable fromCallingRequest(Runnable task) {
+        return new DelegatingSecurityContextRunnable(RequestSqlStats.propagate(task));
+    }
+}
@@ -0,0 +1,92 @@
+package com.food.cart.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Runs EXPLAIN on the SQL behind the hot repository queries and refuses to start if any table
+// access has no usable index. Start with --spring.profiles.active=verify-indexes after migrating.
+// MySQL only explains literal SQL, so these are hand-written equivalents; QueryPlanTest explains
+// the statements the repositories actually issue.
+@Component
+@Profile("verify-indexes")
+public class QueryPlanVerifier implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("OrderRepository.findByShopId",
+                "SELECT * FROM orders WHERE shop_id = 1");
+        QUERIES.put("OrderRepository.findByCustomerId",
+                "SELECT * FROM orders WHERE customer_id = 1");
+        QUERIES.put("ShopListingRepository.recountOrders",
+                "SELECT COUNT(*) FROM orders WHERE shop_id = 1 AND status IN ('PENDING', 'PREPARING', 'READY')");
+        QUERIES.put("OrderRepository.calculateTotalRevenue",
+                "SELECT SUM(total_amount) FROM orders WHERE shop_id = 1 AND status = 'DELIVERED'");
+        QUERIES.put("OrderRepository.countPendingOrders",
+                "SELECT COUNT(*) FROM orders WHERE shop_id = 1 AND status = 'PENDING'");
+        QUERIES.put("OrderRepository.findTopSellingItems",
+                "SELECT oi.menu_item_id, m.name, SUM(oi.quantity) AS total FROM order_items oi "
+                        + "JOIN orders o ON oi.order_id = o.id JOIN menu_items m ON oi.menu_item_id = m.id "
+                        + "WHERE o.shop_id = 1 GROUP BY oi.menu_item_id, m.name ORDER BY total DESC");
+        QUERIES.put("OrderItemRepository.findByOrderId",
+                "SELECT * FROM order_items WHERE order_id = 1");
+        QUERIES.put("OrderItemRepository.findSummariesByOrderIdIn",
+                "SELECT oi.order_id, oi.id, m.name, oi.quantity, oi.price_at_order FROM order_items oi "
+                        + "JOIN menu_items m ON oi.menu_item_id = m.id WHERE oi.order_id IN (1, 2, 3) ORDER BY oi.id");
+        QUERIES.put("OrderItemRepository.sumQuantitiesSince",
+                "SELECT oi.menu_item_id, SUM(oi.quantity) FROM order_items oi "
+                        + "JOIN orders o ON oi.order_id = o.id "
+                        + "WHERE o.created_at >= NOW() - INTERVAL '1' DAY AND o.status <> 'CANCELLED' "
+                        + "GROUP BY oi.menu_item_id");
+        QUERIES.put("OrderExportService.exportOrders",
+                "SELECT o.id, o.created_at, o.status, u.username, o.total_amount, "
+                        + "oi.menu_item_id, m.name, oi.quantity, oi.price_at_order FROM orders o "
+                        + "JOIN users u ON u.id = o.customer_id "
+                        + "LEFT JOIN order_items oi ON oi.order_id = o.id "
+                        + "LEFT JOIN menu_items m ON m.id = oi.menu_item_id "
+                        + "WHERE o.shop_id = 1 AND o.created_at >= '2024-01-01' AND o.created_at < '2024-02-01' "
+                        + "ORDER BY o.created_at, o.id, oi.id");
+        QUERIES.put("CartItemRepository.findByCartId",
+                "SELECT * FROM cart_items WHERE cart_id = 1");
+        QUERIES.put("CartItemRepository.findSummariesByCartId",
+                "SELECT ci.id, ci.menu_item_id, m.name, ci.quantity, m.image_url FROM cart_items ci "
+                        + "JOIN menu_items m ON ci.menu_item_id = m.id WHERE ci.cart_id = 1 ORDER BY ci.id");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+            for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + query.getValue())) {
+                Object table = row.get("table");
+                Object possibleKeys = row.get("possible_keys");
+                Object key = row.get("key");
+                log.info("{}: table={} type={} key={} possible_keys={}",
+                        query.getKey(), table, row.get("type"), key, possibleKeys);
+                if (table != null && possibleKeys == null && key == null) {
+                    problems.add(query.getKey() + " scans " + table + " without an index");
+                }
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Query plan check failed: " + String.join("; ", problems));
+        }
+        log.info("Query plan check passed for {} queries", QUERIES.size());
+    }
+}
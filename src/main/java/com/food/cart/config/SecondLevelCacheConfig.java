@@ -0,0 +1,59 @@
+package com.food.cart.config;
+
+import com.food.cart.model.MenuItem;
+import com.food.cart.model.Shop;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+// Hibernate second-level cache regions, each with its own size bound. Hibernate is set to fail on
+// any region not declared here, so nothing ends up in an unbounded cache by accident.
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Value("${second-level-cache.shop.max-entries:5000}")
+    private long maxShops;
+
+    @Value("${second-level-cache.menu-item.max-entries:50000}")
+    private long maxMenuItems;
+
+    @Value("${second-level-cache.expire-after-write-minutes:60}")
+    private long expireAfterWriteMinutes;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A URI per application context: the provider shares managers by URI across the JVM, so a second
+        // context (another test configuration, say) would otherwise find its regions already created
+        URI uri = URI.create("food-cart-hibernate-" + Integer.toHexString(System.identityHashCode(this)));
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+
+        createRegion(cacheManager, Shop.class.getName(), maxShops);
+        createRegion(cacheManager, Shop.class.getName() + "##NaturalId", maxShops);
+        createRegion(cacheManager, MenuItem.class.getName(), maxMenuItems);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, long maxEntries) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expireAfterWriteMinutes)));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
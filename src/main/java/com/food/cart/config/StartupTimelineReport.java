@@ -0,0 +1,126 @@
+package com.food.cart.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes the buffered startup steps as JSON once the application is ready, so startup time can be
+// compared between builds: --startup.report.file=target/startup-timeline.json. Each step has its
+// own time with the time of its child steps taken out, which is what points at a slow bean.
+// With startup.report.exit=true the application stops right after writing the report. The file is
+// checked at runtime rather than with a condition, which an AOT build would fix at build time.
+@Component
+public class StartupTimelineReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReport.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${startup.report.file:}")
+    private String reportFile;
+
+    @Value("${startup.report.top-steps:50}")
+    private int topSteps;
+
+    @Value("${startup.report.exit:false}")
+    private boolean exitAfterReport;
+
+    // Last ready listener, so the warm-ups on the ready event have finished before an exit
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void write(ApplicationReadyEvent event) throws IOException {
+        if (reportFile.isEmpty()) {
+            return;
+        }
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        if (context.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            write(startup.getBufferedTimeline(), event.getTimeTaken().toMillis());
+        } else {
+            log.warn("Startup steps are not buffered; no timeline written to {}", reportFile);
+        }
+        if (exitAfterReport) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void write(StartupTimeline timeline, long readyMillis) throws IOException {
+        Map<Long, Double> childMillis = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childMillis.merge(parentId, millis(event), Double::sum);
+            }
+        }
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        Map<String, Double> byName = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+            StartupStep step = event.getStartupStep();
+            double self = millis(event) - childMillis.getOrDefault(step.getId(), 0.0);
+            byName.merge(step.getName(), self, Double::sum);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", step.getName());
+            Map<String, String> tags = new LinkedHashMap<>();
+            step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+            row.put("tags", tags);
+            row.put("totalMs", round(millis(event)));
+            row.put("selfMs", round(self));
+            steps.add(row);
+        }
+        steps.sort(Comparator.comparingDouble((Map<String, Object> row) -> (double) row.get("selfMs")).reversed());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", timeline.getStartTime().toString());
+        report.put("readyMs", readyMillis);
+        report.put("jvmUptimeMs", ManagementFactory.getRuntimeMXBean().getUptime());
+        report.put("steps", timeline.getEvents().size());
+        Map<String, Double> totals = new LinkedHashMap<>();
+        byName.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .forEach(entry -> totals.put(entry.getKey(), round(entry.getValue())));
+        report.put("selfMsByStep", totals);
+        report.put("slowestSteps", steps.subList(0, Math.min(topSteps, steps.size())));
+
+        Path file = Path.of(reportFile);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        log.info("Ready in {} ms ({} startup steps); timeline written to {}",
+                readyMillis, timeline.getEvents().size(), reportFile);
+    }
+
+    private static double millis(StartupTimeline.TimelineEvent event) {
+        return event.getDuration().toNanos() / 1e6;
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
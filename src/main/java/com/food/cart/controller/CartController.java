@@ -5,6 +5,7 @@ import com.food.cart.dto.CartDTO;
 import com.food.cart.model.User;
 import com.food.cart.repository.UserRepository;
 import com.food.cart.service.CartService;
+import com.food.cart.sqlstats.SqlBudget;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +25,7 @@ public class CartController {
     @Autowired
     private UserRepository userRepository;
     
+    @SqlBudget(statements = 10)
     @GetMapping
     public ResponseEntity<CartDTO> getCart(@AuthenticationPrincipal UserDetails userDetails) {
         User user = userRepository.findByUsername(userDetails.getUsername())
@@ -4,6 +4,7 @@ import com.food.cart.dto.OrderDTO;
 import com.food.cart.model.User;
 import com.food.cart.repository.UserRepository;
 import com.food.cart.service.OrderService;
+import com.food.cart.sqlstats.SqlBudget;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,6 +33,7 @@ public class OrderController {
         return ResponseEntity.ok("Order placed successfully");
     }
     
+    @SqlBudget(statements = 10)
     @GetMapping("/my-history")
     public ResponseEntity<List<OrderDTO>> getOrderHistory(@AuthenticationPrincipal UserDetails userDetails) {
         User user = userRepository.findByUsername(userDetails.getUsername())
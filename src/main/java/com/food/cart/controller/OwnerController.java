@@ -4,19 +4,29 @@ import com.food.cart.dto.*;
 import com.food.cart.model.User;
 import com.food.cart.repository.UserRepository;
 import com.food.cart.service.MenuService;
+import com.food.cart.service.MenuTransferService;
+import com.food.cart.service.OrderExportService;
+import com.food.cart.service.OwnerDashboardService;
 import com.food.cart.service.OwnerOrderService;
 import com.food.cart.service.OwnerStatisticsService;
 import com.food.cart.service.ShopService;
+import com.food.cart.sqlstats.SqlBudget;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/owner")
@@ -35,6 +45,15 @@ public class OwnerController {
         @Autowired
         private OwnerStatisticsService ownerStatisticsService;
 
+        @Autowired
+        private OwnerDashboardService ownerDashboardService;
+
+        @Autowired
+        private MenuTransferService menuTransferService;
+
+        @Autowired
+        private OrderExportService orderExportService;
+
         @Autowired
         private UserRepository userRepository;
 
@@ -48,6 +67,35 @@ public class OwnerController {
                 return new ResponseEntity<>("Menu item added successfully", HttpStatus.CREATED);
         }
 
+        @PostMapping("/menu/import")
+        public ResponseEntity<ImportReportDTO> importMenu(
+                        @AuthenticationPrincipal UserDetails userDetails,
+                        @RequestParam(required = false) String format,
+                        @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                        InputStream body) {
+                User user = userRepository.findByUsername(userDetails.getUsername())
+                                .orElseThrow(() -> new RuntimeException("User not found"));
+                String resolved = MenuTransferService.resolveFormat(format, contentType);
+                ImportReportDTO report = menuTransferService.importMenu(user.getId(), body, resolved);
+                return ResponseEntity.ok(report);
+        }
+
+        @GetMapping("/menu/export")
+        public ResponseEntity<StreamingResponseBody> exportMenu(
+                        @AuthenticationPrincipal UserDetails userDetails,
+                        @RequestParam(defaultValue = "csv") String format,
+                        @RequestParam(defaultValue = "false") boolean includeImages) {
+                User user = userRepository.findByUsername(userDetails.getUsername())
+                                .orElseThrow(() -> new RuntimeException("User not found"));
+                String resolved = MenuTransferService.resolveFormat(format, null);
+                StreamingResponseBody body = out -> menuTransferService.exportMenu(user.getId(), resolved, includeImages, out);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(
+                                                MenuTransferService.CSV.equals(resolved) ? "text/csv" : "application/x-ndjson"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"menu." + resolved + "\"")
+                                .body(body);
+        }
+
         @PutMapping("/menu/{itemId}")
         public ResponseEntity<String> updateMenuItem(
                         @AuthenticationPrincipal UserDetails userDetails,
@@ -87,6 +135,7 @@ public class OwnerController {
                 return ResponseEntity.ok("Shop updated successfully");
         }
 
+        @SqlBudget(statements = 10)
         @GetMapping("/orders")
         public ResponseEntity<List<OrderDTO>> getShopOrders(@AuthenticationPrincipal UserDetails userDetails) {
                 User user = userRepository.findByUsername(userDetails.getUsername())
@@ -95,6 +144,24 @@ public class OwnerController {
                 return ResponseEntity.ok(orders);
         }
 
+        @GetMapping("/orders/export")
+        public ResponseEntity<StreamingResponseBody> exportOrders(
+                        @AuthenticationPrincipal UserDetails userDetails,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                        @RequestParam(defaultValue = "csv") String format) {
+                User user = userRepository.findByUsername(userDetails.getUsername())
+                                .orElseThrow(() -> new RuntimeException("User not found"));
+                String resolved = MenuTransferService.resolveFormat(format, null);
+                OrderExportService.validateRange(from, to);
+                StreamingResponseBody body = out -> orderExportService.exportOrders(user.getId(), from, to, resolved, out);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(
+                                                MenuTransferService.CSV.equals(resolved) ? "text/csv" : "application/x-ndjson"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + resolved + "\"")
+                                .body(body);
+        }
+
         @PutMapping("/orders/{orderId}/status")
         public ResponseEntity<String> updateOrderStatus(
                         @AuthenticationPrincipal UserDetails userDetails,
@@ -106,6 +173,7 @@ public class OwnerController {
                 return ResponseEntity.ok("Order status updated successfully");
         }
 
+        @SqlBudget(statements = 10)
         @GetMapping("/statistics")
         public ResponseEntity<DashboardStatsDTO> getDashboardStats(@AuthenticationPrincipal UserDetails userDetails) {
                 User user = userRepository.findByUsername(userDetails.getUsername())
@@ -113,4 +181,12 @@ public class OwnerController {
                 DashboardStatsDTO stats = ownerStatisticsService.getDashboardStats(user.getId());
                 return ResponseEntity.ok(stats);
         }
+
+        @GetMapping("/dashboard")
+        public ResponseEntity<OwnerDashboardDTO> getDashboard(@AuthenticationPrincipal UserDetails userDetails) {
+                User user = userRepository.findByUsername(userDetails.getUsername())
+                                .orElseThrow(() -> new RuntimeException("User not found"));
+                OwnerDashboardDTO dashboard = ownerDashboardService.getDashboard(user.getId());
+                return ResponseEntity.ok(dashboard);
+        }
 }
@@ -0,0 +1,25 @@
+package com.food.cart.controller;
+
+import com.food.cart.dto.SearchResultDTO;
+import com.food.cart.service.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @GetMapping
+    public ResponseEntity<List<SearchResultDTO>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<SearchResultDTO> results = searchService.search(q, limit);
+        return ResponseEntity.ok(results);
+    }
+}
@@ -1,13 +1,20 @@
 package com.food.cart.controller;
 
-import com.food.cart.dto.MenuItemResponseDTO;
-import com.food.cart.dto.ShopDTO;
+import com.food.cart.dto.NearbyShopDTO;
+import com.food.cart.dto.ShopListingDTO;
+import com.food.cart.service.NearbyShopService;
+import com.food.cart.service.ShopListingService;
 import com.food.cart.service.ShopService;
+import com.food.cart.service.StockService;
+import com.food.cart.sqlstats.SqlBudget;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/shops")
@@ -16,15 +23,52 @@ public class ShopController {
     @Autowired
     private ShopService shopService;
     
+    @Autowired
+    private ShopListingService shopListingService;
+    
+    @Autowired
+    private NearbyShopService nearbyShopService;
+    
+    @Autowired
+    private StockService stockService;
+    
+    @SqlBudget(statements = 5)
     @GetMapping
-    public ResponseEntity<List<ShopDTO>> getAllShops() {
-        List<ShopDTO> shops = shopService.getAllShops();
+    public ResponseEntity<?> getAllShops(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean notBusy,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (sort == null && maxPrice == null && !notBusy) {
+            return shopService.getShopCatalog().toResponseEntity(ifNoneMatch, acceptEncoding);
+        }
+        List<ShopListingDTO> shops = shopListingService.search(sort, maxPrice, notBusy);
         return ResponseEntity.ok(shops);
     }
     
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyShopDTO>> getNearbyShops(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radius,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<NearbyShopDTO> shops = nearbyShopService.findNearby(lat, lon, radius, limit);
+        return ResponseEntity.ok(shops);
+    }
+    
+    @GetMapping("/{shopId}/stock")
+    public ResponseEntity<Map<Long, Integer>> getShopStock(@PathVariable Long shopId) {
+        Map<Long, Integer> stock = stockService.getRemainingForShop(shopId);
+        return ResponseEntity.ok(stock);
+    }
+    
+    @SqlBudget(statements = 5)
     @GetMapping("/{shopId}/menu")
-    public ResponseEntity<List<MenuItemResponseDTO>> getShopMenu(@PathVariable Long shopId) {
-        List<MenuItemResponseDTO> menu = shopService.getShopMenu(shopId);
-        return ResponseEntity.ok(menu);
+    public ResponseEntity<byte[]> getShopMenu(
+            @PathVariable Long shopId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return shopService.getShopMenuResponse(shopId).toResponseEntity(ifNoneMatch, acceptEncoding);
     }
 }
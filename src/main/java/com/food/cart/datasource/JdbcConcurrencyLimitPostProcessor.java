@@ -0,0 +1,37 @@
+package com.food.cart.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Ordered ahead of the SQL statistics wrapper so the limiter sits directly on the pool
+@Component
+public class JdbcConcurrencyLimitPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource)
+                || !environment.getProperty("jdbc.concurrency-limit.enabled", Boolean.class, false)) {
+            return bean;
+        }
+        int permits = environment.getProperty("jdbc.concurrency-limit.permits", Integer.class, 10);
+        long timeout = environment.getProperty("jdbc.concurrency-limit.acquire-timeout-ms", Long.class, 30000L);
+        return new ConcurrencyLimitedDataSource((DataSource) bean, permits, timeout);
+    }
+}
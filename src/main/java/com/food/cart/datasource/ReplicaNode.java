@@ -0,0 +1,39 @@
+package com.food.cart.datasource;
+
+import javax.sql.DataSource;
+
+public class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+
+    // Replicas start unhealthy and only take reads once the first lag check passes
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    void update(boolean healthy, long lagMillis) {
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+    }
+}
@@ -0,0 +1,14 @@
+package com.food.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingDumpDTO {
+    private String file;
+    private int minutes;
+    private long bytes;
+}
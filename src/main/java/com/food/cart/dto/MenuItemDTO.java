@@ -25,4 +25,8 @@ public class MenuItemDTO {
     private BigDecimal price;
     
     private String imageUrl;
+    
+    // Optional daily stock; leave empty for unlimited
+    @Min(value = 0, message = "Daily stock must be non-negative")
+    private Integer dailyStock;
 }
@@ -16,4 +16,5 @@ public class MenuItemResponseDTO {
     private String description;
     private BigDecimal price;
     private String imageUrl;
+    private Integer dailyStock;
 }
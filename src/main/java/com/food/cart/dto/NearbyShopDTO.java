@@ -0,0 +1,20 @@
+package com.food.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyShopDTO {
+
+    private Long id;
+    private String shopName;
+    private String description;
+    private String address;
+    private String imageUrl;
+    private Double latitude;
+    private Double longitude;
+    private double distanceKm;
+}
@@ -0,0 +1,22 @@
+package com.food.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OwnerDashboardDTO {
+
+    private ShopDTO shop;
+    private DashboardStatsDTO stats;
+    private List<MenuItemResponseDTO> menuItems;
+    private List<OrderDTO> orders;
+
+    // Sections that failed or timed out; their fields above are left null
+    private List<String> unavailableSections = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.food.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+
+    private String type;
+    private Long id;
+    private Long shopId;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private float score;
+}
@@ -14,4 +14,6 @@ public class ShopDTO {
     private String description;
     private String address;
     private String imageUrl;
+    private Double latitude;
+    private Double longitude;
 }
@@ -0,0 +1,27 @@
+package com.food.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShopListingDTO {
+
+    private Long id;
+    private String shopName;
+    private String description;
+    private String address;
+    private String imageUrl;
+    private Integer itemCount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Long orderCount;
+    private Integer activeOrderCount;
+    private boolean busy;
+    private List<String> popularItems;
+}
@@ -0,0 +1,23 @@
+package com.food.cart.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlEndpointStatsDTO {
+    private String endpoint;
+    private long requests;
+    private long statements;
+    private double avgStatements;
+    private int maxStatements;
+    private long rows;
+    private long dbMillis;
+    private long requestsWithRepeatedStatements;
+    private long budgetViolations;
+    private List<String> lastRepeatedShapes;
+}
@@ -0,0 +1,161 @@
+package com.food.cart.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Uniform lat/lon grid. A query visits only the cells of the box its radius can reach, so the work
+// done depends on the radius and the points near the query rather than on the total number indexed.
+public class GeoGridIndex {
+
+    public record Point(long id, double lat, double lon) {
+    }
+
+    public record Neighbor(long id, double distanceKm) {
+    }
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final Point[] EMPTY = new Point[0];
+
+    private final double cellDegrees;
+    private final int lonCells;
+    private final int latCells;
+
+    // Cells are replaced copy-on-write so readers never lock
+    private final ConcurrentHashMap<Long, Point[]> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Point> points = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.lonCells = (int) Math.ceil(360 / cellDegrees);
+        this.latCells = (int) Math.ceil(180 / cellDegrees);
+    }
+
+    public synchronized void put(long id, double lat, double lon) {
+        removePoint(id);
+        Point point = new Point(id, lat, lon);
+        points.put(id, point);
+        cells.compute(cellKey(latIndex(lat), lonIndex(lon)), (key, cell) -> {
+            Point[] current = cell == null ? EMPTY : cell;
+            Point[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = point;
+            return updated;
+        });
+    }
+
+    public synchronized void remove(long id) {
+        removePoint(id);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public List<Neighbor> nearest(double lat, double lon, double radiusKm, int limit) {
+        List<Neighbor> found = new ArrayList<>();
+        if (limit <= 0 || radiusKm < 0) {
+            return found;
+        }
+
+        // Rows the radius can reach, then for each row the longitudes it can reach there
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        int firstRow = latIndex(Math.max(-90, lat - latSpan));
+        int lastRow = latIndex(Math.min(90, lat + latSpan));
+        int[] lonReach = new int[lastRow - firstRow + 1];
+        long boxCells = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            lonReach[row - firstRow] = lonCellsWithin(row, lat, radiusKm);
+            boxCells += Math.min(lonCells, 2L * lonReach[row - firstRow] + 1);
+        }
+
+        if (boxCells > points.size()) {
+            // Near the poles the box can span whole rows; then checking every point is cheaper
+            for (Point p : points.values()) {
+                collect(p, lat, lon, radiusKm, found);
+            }
+        } else {
+            int centerLon = lonIndex(lon);
+            for (int row = firstRow; row <= lastRow; row++) {
+                int reach = lonReach[row - firstRow];
+                if (2 * reach + 1 >= lonCells) {
+                    for (int lonIdx = 0; lonIdx < lonCells; lonIdx++) {
+                        visitCell(row, lonIdx, lat, lon, radiusKm, found);
+                    }
+                } else {
+                    for (int dLon = -reach; dLon <= reach; dLon++) {
+                        visitCell(row, Math.floorMod(centerLon + dLon, lonCells), lat, lon, radiusKm, found);
+                    }
+                }
+            }
+        }
+
+        found.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+    }
+
+    // Longitude cells either side of the query cell that can hold a point within the radius on this
+    // row. From the haversine formula, sin(dLon / 2) <= sin(d / 2R) / sqrt(cos(lat1) cos(lat2)), with
+    // lat2 taken at the row edge nearer the pole so the bound stays conservative.
+    private int lonCellsWithin(int row, double lat, double radiusKm) {
+        double rowSouth = row * cellDegrees - 90;
+        double poleward = Math.min(90, Math.max(Math.abs(rowSouth), Math.abs(rowSouth + cellDegrees)));
+        double cosProduct = Math.cos(Math.toRadians(lat)) * Math.cos(Math.toRadians(poleward));
+        double sinHalf = Math.sin(radiusKm / (2 * EARTH_RADIUS_KM)) / Math.sqrt(Math.max(cosProduct, 0));
+        if (!(sinHalf < 1)) {
+            return lonCells;
+        }
+        double lonSpan = Math.toDegrees(2 * Math.asin(sinHalf));
+        return (int) Math.min(lonCells, Math.ceil(lonSpan / cellDegrees) + 1);
+    }
+
+    private void visitCell(int latIdx, int lonIdx, double lat, double lon, double radiusKm, List<Neighbor> found) {
+        Point[] cell = cells.get(cellKey(latIdx, lonIdx));
+        if (cell != null) {
+            for (Point p : cell) {
+                collect(p, lat, lon, radiusKm, found);
+            }
+        }
+    }
+
+    private static void collect(Point p, double lat, double lon, double radiusKm, List<Neighbor> found) {
+        double distance = distanceKm(lat, lon, p.lat(), p.lon());
+        if (distance <= radiusKm) {
+            found.add(new Neighbor(p.id(), distance));
+        }
+    }
+
+    private void removePoint(long id) {
+        Point existing = points.remove(id);
+        if (existing == null) {
+            return;
+        }
+        cells.computeIfPresent(cellKey(latIndex(existing.lat()), lonIndex(existing.lon())), (key, cell) -> {
+            Point[] updated = Arrays.stream(cell).filter(p -> p.id() != id).toArray(Point[]::new);
+            return updated.length == 0 ? null : updated;
+        });
+    }
+
+    private int latIndex(double lat) {
+        return Math.min(latCells - 1, (int) Math.floor((lat + 90) / cellDegrees));
+    }
+
+    private int lonIndex(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180) / cellDegrees), lonCells);
+    }
+
+    private long cellKey(int latIdx, int lonIdx) {
+        return (long) latIdx * lonCells + lonIdx;
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
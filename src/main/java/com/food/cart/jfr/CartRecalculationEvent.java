@@ -0,0 +1,25 @@
+package com.food.cart.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("foodcart.CartRecalculation")
+@Label("Cart Recalculation")
+@Category({"FoodCart", "Cart"})
+@Description("Repricing a cart against the current menu snapshot")
+@StackTrace(false)
+public class CartRecalculationEvent extends Event {
+
+    @Label("Shop Id")
+    public long shopId;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Menu Version")
+    public long menuVersion;
+}
@@ -0,0 +1,150 @@
+package com.food.cart.jfr;
+
+import com.food.cart.exception.BusinessRuleException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// In-process flight recording that runs for the life of the application. It keeps a ring buffer
+// on disk bounded by max-age and max-size, so after a latency spike the last minutes can be
+// dumped and opened in JDK Mission Control. The "default" settings are the low-overhead
+// continuous profile (~1%); the foodcart.* events are enabled by their own annotations.
+@Component
+@ConditionalOnProperty(name = "jfr.continuous.enabled", havingValue = "true", matchIfMissing = true)
+public class ContinuousRecording {
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    static final String RECORDING_NAME = "foodcart-continuous";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${jfr.continuous.settings:default}")
+    private String settings;
+
+    @Value("${jfr.continuous.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    @Value("${jfr.continuous.max-size-mb:100}")
+    private long maxSizeMb;
+
+    @Value("${jfr.dump-directory:${java.io.tmpdir}/foodcart-jfr}")
+    private String dumpDirectory;
+
+    @Value("${jfr.dump-retention:5}")
+    private int dumpRetention;
+
+    @Value("${jfr.dump-min-interval-seconds:60}")
+    private long dumpMinIntervalSeconds;
+
+    private Recording recording;
+
+    private long lastDumpNanos;
+    private boolean dumped;
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration(settings));
+        recording.setName(RECORDING_NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        recording.setMaxSize(maxSizeMb * 1024 * 1024);
+        recording.start();
+        log.info("Continuous flight recording started ({} settings, last {} min / {} MB kept)",
+                settings, maxAgeMinutes, maxSizeMb);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public RecordingState getState() {
+        return recording.getState();
+    }
+
+    public long getMaxAgeMinutes() {
+        return maxAgeMinutes;
+    }
+
+    // Writes the last `minutes` of the ring buffer to a new file and returns its path. JFR.dump is
+    // used because it can cut by age (Recording.dump always writes the whole buffer); the cut is
+    // at chunk granularity, so the file may start slightly earlier than asked. Each dump can be as
+    // large as the ring buffer, so dumps are spaced by dump-min-interval-seconds and only the newest
+    // dump-retention files are kept in the dump directory.
+    public synchronized Path dump(int minutes) {
+        if (minutes < 1 || minutes > maxAgeMinutes) {
+            throw new BusinessRuleException("minutes must be between 1 and " + maxAgeMinutes);
+        }
+        long sinceLast = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - lastDumpNanos);
+        if (dumped && sinceLast < dumpMinIntervalSeconds) {
+            throw new BusinessRuleException("A recording was dumped " + sinceLast + " s ago; wait "
+                    + (dumpMinIntervalSeconds - sinceLast) + " s before dumping again");
+        }
+        try {
+            Path directory = Files.createDirectories(Paths.get(dumpDirectory));
+            Path file = directory.resolve("foodcart-" + LocalDateTime.now().format(FILE_TIME) + "-" + minutes + "m.jfr");
+            String[] args = {
+                    "name=" + RECORDING_NAME,
+                    "filename=" + file.toAbsolutePath(),
+                    "maxage=" + minutes + "m"
+            };
+            Object result = ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                    "jfrDump",
+                    new Object[] { args },
+                    new String[] { String[].class.getName() });
+            if (!Files.exists(file)) {
+                throw new IllegalStateException("JFR.dump did not write " + file + ": " + result);
+            }
+            lastDumpNanos = System.nanoTime();
+            dumped = true;
+            log.info("Dumped last {} min of flight recording to {}", minutes, file);
+            pruneDumps(directory);
+            return file;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create " + dumpDirectory, e);
+        } catch (JMException e) {
+            throw new IllegalStateException("JFR.dump failed", e);
+        }
+    }
+
+    // File names start with a sortable timestamp, so the newest dumps sort last
+    private void pruneDumps(Path directory) throws IOException {
+        List<Path> dumps;
+        try (Stream<Path> files = Files.list(directory)) {
+            dumps = files.filter(f -> f.getFileName().toString().startsWith("foodcart-")
+                            && f.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(f -> f.getFileName().toString()))
+                    .toList();
+        }
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - dumpRetention))) {
+            Files.deleteIfExists(old);
+            log.info("Deleted old flight recording dump {}", old);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.food.cart.jfr;
+
+import com.food.cart.dto.FlightRecordingDumpDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// GET shows the continuous recording; POST {"minutes": 5} dumps that window to a file on the
+// server. Restricted to operators in SecurityConfig.
+@Component
+@ConditionalOnProperty(name = "jfr.continuous.enabled", havingValue = "true", matchIfMissing = true)
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+
+    @Autowired
+    private ContinuousRecording continuousRecording;
+
+    @ReadOperation
+    public Map<String, Object> recording() {
+        return Map.of(
+                "name", ContinuousRecording.RECORDING_NAME,
+                "state", continuousRecording.getState().name(),
+                "maxAgeMinutes", continuousRecording.getMaxAgeMinutes());
+    }
+
+    @WriteOperation
+    public FlightRecordingDumpDTO dump(@Nullable Integer minutes) {
+        int window = minutes != null ? minutes : DEFAULT_MINUTES;
+        Path file = continuousRecording.dump(window);
+        try {
+            return new FlightRecordingDumpDTO(file.toString(), window, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
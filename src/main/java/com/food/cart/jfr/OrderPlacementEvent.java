@@ -0,0 +1,29 @@
+package com.food.cart.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Sizes and outcome only; no customer id or username is recorded
+@Name("foodcart.OrderPlacement")
+@Label("Order Placement")
+@Category({"FoodCart", "Checkout"})
+@Description("Placing an order from a cart, including repricing and stock reservation")
+@StackTrace(false)
+public class OrderPlacementEvent extends Event {
+
+    @Label("Shop Id")
+    public long shopId;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Outcome")
+    public String outcome;
+}
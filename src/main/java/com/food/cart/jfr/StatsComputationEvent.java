@@ -0,0 +1,22 @@
+package com.food.cart.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("foodcart.StatsComputation")
+@Label("Shop Statistics Computation")
+@Category({"FoodCart", "Owner"})
+@Description("Revenue, pending count and top sellers for one shop")
+@StackTrace(false)
+public class StatsComputationEvent extends Event {
+
+    @Label("Shop Id")
+    public long shopId;
+
+    @Label("Top Items")
+    public int topItems;
+}
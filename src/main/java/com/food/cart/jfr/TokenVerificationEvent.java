@@ -0,0 +1,26 @@
+package com.food.cart.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// The token and its subject are never recorded, only its size and whether it verified
+@Name("foodcart.TokenVerification")
+@Label("JWT Verification")
+@Category({"FoodCart", "Auth"})
+@Description("Signature and expiry check of a bearer token")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Token Length")
+    public int tokenLength;
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Failure")
+    public String failure;
+}
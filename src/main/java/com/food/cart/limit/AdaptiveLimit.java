@@ -0,0 +1,86 @@
+package com.food.cart.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that follows latency, after the gradient algorithm in Netflix's
+// concurrency-limits. A long-term average round-trip time stands for the latency the group has
+// when healthy. While recent latency stays near it the limit grows by about sqrt(limit) per sample,
+// and as recent latency rises above it the limit shrinks in proportion, by at most half. Server
+// errors count as overload and cut the limit by a tenth.
+final class AdaptiveLimit {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Returns the permit and feeds the request's latency back into the limit
+    void release(long rttNanos, boolean overloaded) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtRelease, overloaded);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtRelease, boolean overloaded) {
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * 0.9);
+            return;
+        }
+
+        double rtt = rttNanos;
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / LONG_WINDOW;
+        // After a long slow spell the baseline drifts up; pull it back once latency recovers
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+
+        // A group using less than half its limit says nothing about how far the limit could go
+        if (inFlightAtRelease < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    double getUtilization() {
+        return inFlight.get() / limit;
+    }
+}
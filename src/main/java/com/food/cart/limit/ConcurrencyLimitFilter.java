@@ -0,0 +1,178 @@
+package com.food.cart.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Sheds load per endpoint group before it reaches Spring Security or the connection pool. Each
+// group has its own AdaptiveLimit, so a slow checkout does not use up the threads serving the
+// catalog. Requests over the limit get 503 with Retry-After straight away instead of queueing
+// in Tomcat.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT = "foodcart.concurrency.limit";
+    public static final String IN_FLIGHT = "foodcart.concurrency.in_flight";
+    public static final String REJECTIONS = "foodcart.concurrency.rejections";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${concurrency-limit.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${concurrency-limit.min-limit:2}")
+    private int minLimit;
+
+    @Value("${concurrency-limit.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${concurrency-limit.latency-tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${concurrency-limit.export-limit:4}")
+    private int exportLimit;
+
+    @Value("${concurrency-limit.yield-utilization:0.8}")
+    private double yieldUtilization;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private final Map<EndpointGroup, AdaptiveLimit> limits = new EnumMap<>(EndpointGroup.class);
+
+    private final Map<EndpointGroup, Counter> limitRejections = new EnumMap<>(EndpointGroup.class);
+
+    private final Map<EndpointGroup, Counter> yieldRejections = new EnumMap<>(EndpointGroup.class);
+
+    @PostConstruct
+    void registerGroups() {
+        for (EndpointGroup group : EndpointGroup.values()) {
+            // An export's duration follows the size of the file, not load, so its limit does not move
+            AdaptiveLimit limit = group == EndpointGroup.EXPORT
+                    ? new AdaptiveLimit(exportLimit, exportLimit, exportLimit, tolerance)
+                    : new AdaptiveLimit(initialLimit, minLimit, maxLimit, tolerance);
+            limits.put(group, limit);
+            Gauge.builder(LIMIT, limit, AdaptiveLimit::getLimit).tag("group", group.tag()).register(registry);
+            Gauge.builder(IN_FLIGHT, limit, AdaptiveLimit::getInFlight).tag("group", group.tag()).register(registry);
+            limitRejections.put(group, Counter.builder(REJECTIONS)
+                    .tag("group", group.tag()).tag("reason", "limit").register(registry));
+            yieldRejections.put(group, Counter.builder(REJECTIONS)
+                    .tag("group", group.tag()).tag("reason", "yield").register(registry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || EndpointGroup.of(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        EndpointGroup yieldsTo = group.getYieldsTo();
+        if (yieldsTo != null && limits.get(yieldsTo).getUtilization() >= yieldUtilization) {
+            yieldRejections.get(group).increment();
+            reject(request, response, group.tag() + " requests are paused while " + yieldsTo.tag() + " is busy");
+            return;
+        }
+
+        AdaptiveLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            limitRejections.get(group).increment();
+            reject(request, response, "Too many concurrent " + group.tag() + " requests");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean released = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold their permit until the async request completes
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limit, start));
+                released = true;
+            }
+        } finally {
+            if (!released) {
+                limit.release(System.nanoTime() - start, response.getStatus() >= 500);
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String message) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                message,
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+
+        private final AdaptiveLimit limit;
+        private final long start;
+
+        private ReleaseOnComplete(AdaptiveLimit limit, long start) {
+            this.limit = limit;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            boolean failed = event.getSuppliedResponse() instanceof HttpServletResponse response
+                    && response.getStatus() >= 500;
+            limit.release(System.nanoTime() - start, failed);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
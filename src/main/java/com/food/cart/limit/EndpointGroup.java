@@ -0,0 +1,65 @@
+package com.food.cart.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Locale;
+
+// Endpoints that share a concurrency limit. Owner reports and exports are split from the rest of
+// the owner API so they can give way to checkout: they are shed while checkout is near its limit.
+// Exports stream for as long as the file takes, so they have their own fixed limit rather than
+// feeding minutes-long round trips into the reports' latency baseline.
+public enum EndpointGroup {
+
+    AUTH(null),
+    CATALOG(null),
+    CART(null),
+    CHECKOUT(null),
+    ORDERS(null),
+    OWNER(null),
+    ANALYTICS(CHECKOUT),
+    EXPORT(CHECKOUT);
+
+    private final EndpointGroup yieldsTo;
+
+    EndpointGroup(EndpointGroup yieldsTo) {
+        this.yieldsTo = yieldsTo;
+    }
+
+    public EndpointGroup getYieldsTo() {
+        return yieldsTo;
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // Null for requests outside the limited API, such as pages, static files and actuator
+    public static EndpointGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/shops") || path.startsWith("/api/search")) {
+            return CATALOG;
+        }
+        if (path.startsWith("/api/cart")) {
+            return CART;
+        }
+        if (path.equals("/api/orders/place") && "POST".equals(request.getMethod())) {
+            return CHECKOUT;
+        }
+        if (path.startsWith("/api/orders")) {
+            return ORDERS;
+        }
+        if (path.endsWith("/export")) {
+            return EXPORT;
+        }
+        if (path.startsWith("/api/owner/statistics") || path.startsWith("/api/owner/dashboard")) {
+            return ANALYTICS;
+        }
+        if (path.startsWith("/api/owner")) {
+            return OWNER;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,222 @@
+package com.food.cart.limit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.exception.ErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket rate limits for the routes in rate-limit.routes, keyed by the authenticated
+// username or, for anonymous callers such as login, by client address (read from the forwarded
+// header when the connection comes from one of rate-limit.trusted-proxies). Runs after Spring Security
+// so the user is known, and before the controller, so a limited login never reaches BCrypt.
+// Responses carry the RateLimit-Limit / -Remaining / -Reset / -Policy headers of the IETF
+// RateLimit header fields draft; rejected requests get 429 with Retry-After.
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REJECTIONS = "foodcart.rate_limit.rejections";
+    public static final String BUCKETS = "foodcart.rate_limit.buckets";
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.max-buckets-per-route:100000}")
+    private int maxBuckets;
+
+    @Value("${rate-limit.forwarded-header:X-Forwarded-For}")
+    private String forwardedHeader;
+
+    @Value("${rate-limit.trusted-proxies:}")
+    private List<String> trustedProxyRanges;
+
+    private RateLimitRule[] rules = new RateLimitRule[0];
+
+    private IpAddressMatcher[] trustedProxies = new IpAddressMatcher[0];
+
+    @PostConstruct
+    void loadRules() {
+        trustedProxies = trustedProxyRanges.stream()
+                .map(String::trim)
+                .filter(range -> !range.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toArray(IpAddressMatcher[]::new);
+        Map<String, String> routes = Binder.get(environment)
+                .bind("rate-limit.routes", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        rules = routes.entrySet().stream()
+                .map(route -> new RateLimitRule(route.getKey(), route.getValue(), maxBuckets, registry))
+                .toArray(RateLimitRule[]::new);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || rules.length == 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitRule rule = match(request);
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long taken = rule.tryTake(username(), clientAddress(request), System.nanoTime());
+        response.setIntHeader("RateLimit-Limit", rule.getCapacity());
+        response.setHeader("RateLimit-Policy", rule.getPolicy());
+        if (taken >= 0) {
+            response.setIntHeader("RateLimit-Remaining", (int) taken);
+            response.setIntHeader("RateLimit-Reset", seconds((rule.getCapacity() - taken) * rule.getIntervalNanos()));
+            chain.doFilter(request, response);
+            return;
+        }
+
+        rule.getRejections().increment();
+        int retryAfter = seconds(-taken);
+        response.setIntHeader("RateLimit-Remaining", 0);
+        response.setIntHeader("RateLimit-Reset", retryAfter);
+        response.setIntHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                "Rate limit exceeded, retry in " + retryAfter + " s",
+                request.getRequestURI()
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    // Full buckets carry no state, so dropping them keeps only clients that are actually limited
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (RateLimitRule rule : rules) {
+            int evicted = rule.evictFull(now);
+            if (evicted > 0) {
+                log.debug("Evicted {} idle rate-limit buckets for {}", evicted, rule.getName());
+            }
+        }
+    }
+
+    private RateLimitRule match(HttpServletRequest request) {
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        for (RateLimitRule rule : rules) {
+            if (rule.matches(method, uri, offset)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    // The connecting address, unless it is a trusted proxy: then the forwarded header is read from the
+    // right, skipping further trusted proxies, since only the entries they appended can be believed
+    private String clientAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!isTrustedProxy(address)) {
+            return address;
+        }
+        Enumeration<String> headers = request.getHeaders(forwardedHeader);
+        List<String> hops = new ArrayList<>();
+        while (headers != null && headers.hasMoreElements()) {
+            for (String hop : headers.nextElement().split(",")) {
+                if (!hop.isBlank()) {
+                    hops.add(hop.trim());
+                }
+            }
+        }
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            address = hops.get(i);
+            if (!isTrustedProxy(address)) {
+                return address;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        // IpAddressMatcher resolves anything else through DNS, and forwarded entries can be "unknown"
+        if (!isIpLiteral(address)) {
+            return false;
+        }
+        for (IpAddressMatcher proxy : trustedProxies) {
+            if (proxy.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIpLiteral(String address) {
+        boolean ipv6 = address.indexOf(':') >= 0;
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            boolean allowed = c == '.' || (c >= '0' && c <= '9')
+                    || ipv6 && (c == ':' || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'));
+            if (!allowed) {
+                return false;
+            }
+        }
+        return !address.isEmpty();
+    }
+
+    private static String username() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static int seconds(long nanos) {
+        return (int) Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
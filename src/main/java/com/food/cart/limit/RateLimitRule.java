@@ -0,0 +1,119 @@
+package com.food.cart.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One rate-limit.routes entry, "<METHOD> <path> <capacity>/<period>", for example
+// "POST /api/auth/login 10/1m": bursts of up to 10, refilled at 10 per minute. The path is exact
+// or ends in /** for a prefix. Buckets are kept per user and, for anonymous callers, per IP. Once
+// maxBuckets are held and none is full, new clients share one overflow bucket until some drain.
+final class RateLimitRule {
+
+    private final String name;
+    private final String method;
+    private final String path;
+    private final boolean prefix;
+    private final int capacity;
+    private final Duration period;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxBuckets;
+    private final String policy;
+
+    private final ConcurrentHashMap<String, TokenBucket> users = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> addresses = new ConcurrentHashMap<>();
+    // Shared by new clients while the route is at maxBuckets and none can be evicted
+    private final TokenBucket overflow = new TokenBucket();
+
+    private final Counter rejections;
+
+    RateLimitRule(String name, String definition, int maxBuckets, MeterRegistry registry) {
+        String[] parts = definition.trim().split("\\s+");
+        String[] rate = parts.length == 3 ? parts[2].split("/") : new String[0];
+        if (rate.length != 2) {
+            throw new IllegalArgumentException("rate-limit.routes." + name
+                    + " must look like 'POST /api/path 10/1m' but was '" + definition + "'");
+        }
+        this.name = name;
+        this.method = parts[0].toUpperCase(Locale.ROOT);
+        this.prefix = parts[1].endsWith("/**");
+        this.path = prefix ? parts[1].substring(0, parts[1].length() - 3) : parts[1];
+        this.capacity = Integer.parseInt(rate[0]);
+        this.period = DurationStyle.detectAndParse(rate[1]);
+        this.intervalNanos = period.toNanos() / capacity;
+        this.burstNanos = intervalNanos * capacity;
+        this.maxBuckets = maxBuckets;
+        this.policy = capacity + ";w=" + period.toSeconds();
+
+        this.rejections = Counter.builder(RateLimitFilter.REJECTIONS).tag("route", name).register(registry);
+        Gauge.builder(RateLimitFilter.BUCKETS, this, RateLimitRule::bucketCount).tag("route", name).register(registry);
+    }
+
+    boolean matches(String requestMethod, String uri, int offset) {
+        if (!method.equals(requestMethod)) {
+            return false;
+        }
+        int length = uri.length() - offset;
+        if (prefix) {
+            return length >= path.length() && uri.startsWith(path, offset)
+                    && (length == path.length() || uri.charAt(offset + path.length()) == '/');
+        }
+        return length == path.length() && uri.startsWith(path, offset);
+    }
+
+    long tryTake(String user, String address, long now) {
+        ConcurrentHashMap<String, TokenBucket> buckets = user != null ? users : addresses;
+        String key = user != null ? user : address;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            // Bounds memory when a client cycles through addresses faster than the periodic eviction
+            if (bucketCount() >= maxBuckets) {
+                evictFull(now);
+                if (bucketCount() >= maxBuckets) {
+                    return overflow.tryTake(now, intervalNanos, burstNanos);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket());
+        }
+        return bucket.tryTake(now, intervalNanos, burstNanos);
+    }
+
+    // A full bucket is the same as no bucket. A request racing the removal may take its token from
+    // the dropped bucket and get one extra token; that is the only cost.
+    int evictFull(long now) {
+        int before = bucketCount();
+        users.values().removeIf(bucket -> bucket.isFull(now));
+        addresses.values().removeIf(bucket -> bucket.isFull(now));
+        return before - bucketCount();
+    }
+
+    int bucketCount() {
+        return users.size() + addresses.size();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    String getPolicy() {
+        return policy;
+    }
+
+    Counter getRejections() {
+        return rejections;
+    }
+}
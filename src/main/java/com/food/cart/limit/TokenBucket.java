@@ -0,0 +1,43 @@
+package com.food.cart.limit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Token bucket kept as a single "theoretical arrival time" (the GCRA form of a token bucket): the
+// instant at which the bucket would be full again. Taking a token pushes it forward by one refill
+// interval, and a request is allowed while it stays within capacity intervals of now. One CAS on a
+// long per check, no locks and no allocation. A bucket whose arrival time has passed is full, so
+// dropping it loses nothing.
+final class TokenBucket {
+
+    private static final VarHandle ARRIVAL;
+
+    static {
+        try {
+            ARRIVAL = MethodHandles.lookup().findVarHandle(TokenBucket.class, "arrival", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long arrival;
+
+    // Tokens left after taking one, or minus the nanoseconds until a token is available
+    long tryTake(long now, long intervalNanos, long burstNanos) {
+        while (true) {
+            long current = arrival;
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                return -(ahead - burstNanos);
+            }
+            if (ARRIVAL.compareAndSet(this, current, next)) {
+                return (burstNanos - ahead) / intervalNanos;
+            }
+        }
+    }
+
+    boolean isFull(long now) {
+        return arrival <= now;
+    }
+}
@@ -0,0 +1,124 @@
+package com.food.cart.metrics;
+
+import com.food.cart.exception.BusinessRuleException;
+import com.food.cart.exception.ForbiddenException;
+import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.exception.UnauthorizedException;
+import com.food.cart.sqlstats.RequestSqlStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Latency of the cart, checkout and auth hot paths. Every operation records two timers with the
+// same tags: the wall-clock time and the part of it spent executing SQL (from RequestSqlStats), so
+// a slow checkout can be told apart as database time or time waiting on locks and the pool.
+// Tags are fixed strings only; percentiles and histogram buckets are set in application.properties.
+@Component
+public class HotPathMetrics {
+
+    public static final String TIMER = "foodcart.operation";
+    public static final String DB_TIMER = "foodcart.operation.db";
+    public static final String REJECTIONS = "foodcart.operation.rejections";
+
+    public static final String SUCCESS = "success";
+    public static final String REJECTED = "rejected";
+    public static final String ROLLED_BACK = "rolled_back";
+    public static final String ERROR = "error";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Times work that is the body of a @Transactional method. The sample stops when the
+    // transaction completes, so flush and commit are included.
+    public void timeTransaction(String operation, Runnable work) {
+        Sample sample = start(operation);
+        try {
+            work.run();
+        } catch (RuntimeException e) {
+            sample.stop(outcomeOf(e), e);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    sample.stop(status == STATUS_COMMITTED ? SUCCESS : ROLLED_BACK, null);
+                }
+            });
+        } else {
+            sample.stop(SUCCESS, null);
+        }
+    }
+
+    public <T> T time(String operation, Supplier<T> work) {
+        Sample sample = start(operation);
+        T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            sample.stop(outcomeOf(e), e);
+            throw e;
+        }
+        sample.stop(SUCCESS, null);
+        return result;
+    }
+
+    public void time(String operation, Runnable work) {
+        time(operation, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public Sample start(String operation) {
+        return new Sample(operation);
+    }
+
+    // Business-rule rejections by a fixed reason, e.g. checkout refused because an item sold out
+    public void rejected(String operation, String reason) {
+        registry.counter(REJECTIONS, "operation", operation, "reason", reason).increment();
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof BusinessRuleException || e instanceof ResourceNotFoundException
+                || e instanceof ForbiddenException || e instanceof UnauthorizedException) {
+            return REJECTED;
+        }
+        return ERROR;
+    }
+
+    public class Sample {
+
+        private final String operation;
+        private final long startNanos = System.nanoTime();
+        private final RequestSqlStats stats = RequestSqlStats.current();
+        private final long startDbNanos;
+
+        private Sample(String operation) {
+            this.operation = operation;
+            this.startDbNanos = stats != null ? stats.getDbNanos() : 0;
+        }
+
+        public void stop(String outcome, Throwable error) {
+            String exception = error != null ? error.getClass().getSimpleName() : "none";
+            Timer.builder(TIMER)
+                    .description("Wall-clock time of a cart, checkout or auth operation")
+                    .tags("operation", operation, "outcome", outcome, "exception", exception)
+                    .register(registry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            if (stats != null) {
+                Timer.builder(DB_TIMER)
+                        .description("Time the operation spent executing SQL statements")
+                        .tags("operation", operation, "outcome", outcome, "exception", exception)
+                        .register(registry)
+                        .record(stats.getDbNanos() - startDbNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -3,10 +3,14 @@ package com.food.cart.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "cart_items")
+@Table(name = "cart_items", indexes = {
+    @Index(name = "idx_cart_items_cart_item", columnList = "cart_id, menu_item_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,10 +29,14 @@ public class CartItem {
     @Column(nullable = false)
     private Integer quantity = 1;
     
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cart_id", insertable = false, updatable = false)
     private Cart cart;
     
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_item_id", insertable = false, updatable = false)
     private MenuItem menuItem;
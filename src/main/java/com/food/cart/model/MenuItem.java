@@ -3,11 +3,19 @@ package com.food.cart.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Entity
 @Table(name = "menu_items")
+@Cacheable
+// Images stay out of the second-level cache; they are loaded on first access
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, includeLazy = false)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,12 +34,29 @@ public class MenuItem {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "image_url", columnDefinition = "LONGTEXT")
     private String imageUrl;
 
     @Column(name = "shop_id", nullable = false)
     private Long shopId;
 
+    // Optional daily limit; null means unlimited
+    @Column(name = "daily_stock")
+    private Integer dailyStock;
+
+    // Last persisted snapshot of the in-memory stock counter; written only by StockService over JDBC and
+    // read back at startup to seed that day's counters
+    @Column(name = "stock_remaining", insertable = false, updatable = false)
+    private Integer stockRemaining;
+
+    @Column(name = "stock_date", insertable = false, updatable = false)
+    private LocalDate stockDate;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id", insertable = false, updatable = false)
     private Shop shop;
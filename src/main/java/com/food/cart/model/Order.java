@@ -3,7 +3,9 @@ package com.food.cart.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,7 +13,13 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+// Indexes are created by the Flyway migrations; listed here to keep the mapping self-describing
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_shop_status_created", columnList = "shop_id, status, created_at, total_amount"),
+    @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at"),
+    @Index(name = "idx_orders_created_status", columnList = "created_at, status"),
+    @Index(name = "idx_orders_shop_created", columnList = "shop_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,14 +46,20 @@ public class Order {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", insertable = false, updatable = false)
     private User customer;
     
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shop_id", insertable = false, updatable = false)
     private Shop shop;
     
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 }
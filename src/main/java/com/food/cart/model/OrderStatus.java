@@ -5,5 +5,9 @@ public enum OrderStatus {
     PREPARING,
     READY,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    public boolean isActive() {
+        return this != DELIVERED && this != CANCELLED;
+    }
 }
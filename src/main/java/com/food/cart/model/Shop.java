@@ -3,11 +3,20 @@ package com.food.cart.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.util.List;
 
 @Entity
 @Table(name = "shops")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,12 +34,24 @@ public class Shop {
 
     private String address;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @Column(name = "image_url", columnDefinition = "TEXT")
     private String imageUrl;
 
+    @NaturalId
     @Column(name = "owner_id", nullable = false, unique = true)
     private Long ownerId;
 
+    // Bumped by MenuPriceService on every menu write; never written through the entity
+    @Column(name = "menu_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long menuVersion;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @OneToMany(mappedBy = "shop", cascade = CascadeType.ALL)
     private List<MenuItem> menuItems;
 }
@@ -0,0 +1,61 @@
+package com.food.cart.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Denormalized read model behind the shop listing; rebuilt from shops, menu_items and orders
+@Entity
+@Table(name = "shop_listing", indexes = {
+    @Index(name = "idx_shop_listing_min_price", columnList = "min_price, shop_id"),
+    @Index(name = "idx_shop_listing_order_count", columnList = "order_count, shop_id"),
+    @Index(name = "idx_shop_listing_active_orders", columnList = "active_order_count, shop_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShopListing {
+
+    @Id
+    @Column(name = "shop_id")
+    private Long shopId;
+
+    @Column(name = "shop_name", nullable = false)
+    private String shopName;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    private String address;
+
+    @Column(name = "image_url", columnDefinition = "TEXT")
+    private String imageUrl;
+
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount = 0;
+
+    @Column(name = "min_price", precision = 10, scale = 2)
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price", precision = 10, scale = 2)
+    private BigDecimal maxPrice;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "active_order_count", nullable = false)
+    private Integer activeOrderCount = 0;
+
+    // Up to three best-selling item names, comma separated
+    @Column(name = "popular_items", length = 1000)
+    private String popularItems;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
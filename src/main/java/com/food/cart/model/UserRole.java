@@ -2,5 +2,7 @@ package com.food.cart.model;
 
 public enum UserRole {
     ROLE_CUSTOMER,
-    ROLE_OWNER
+    ROLE_OWNER,
+    // Operators of the platform; assigned in the database only, never through registration
+    ROLE_OPS
 }
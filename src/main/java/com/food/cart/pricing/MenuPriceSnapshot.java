@@ -0,0 +1,72 @@
+package com.food.cart.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+// Immutable price table for one version of a shop's menu. Ids are sorted and prices are held in
+// minor units (paise), so a lookup is a binary search over primitive arrays.
+public final class MenuPriceSnapshot {
+
+    private static final int SCALE = 2;
+
+    private final long shopId;
+    private final long version;
+    private final long[] itemIds;
+    private final long[] prices;
+
+    private MenuPriceSnapshot(long shopId, long version, long[] itemIds, long[] prices) {
+        this.shopId = shopId;
+        this.version = version;
+        this.itemIds = itemIds;
+        this.prices = prices;
+    }
+
+    public static MenuPriceSnapshot of(long shopId, long version, long[] itemIds, BigDecimal[] prices) {
+        Integer[] order = new Integer[itemIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(itemIds[a], itemIds[b]));
+
+        long[] sortedIds = new long[itemIds.length];
+        long[] minorPrices = new long[itemIds.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedIds[i] = itemIds[order[i]];
+            // Rounded as the DECIMAL(10, 2) price column stores it, for a price not yet written back
+            minorPrices[i] = prices[order[i]].setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+        return new MenuPriceSnapshot(shopId, version, sortedIds, minorPrices);
+    }
+
+    public long getShopId() {
+        return shopId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return itemIds.length;
+    }
+
+    public boolean contains(long itemId) {
+        return Arrays.binarySearch(itemIds, itemId) >= 0;
+    }
+
+    // Returns -1 when the item is not on this version of the menu
+    public long priceMinor(long itemId) {
+        int index = Arrays.binarySearch(itemIds, itemId);
+        return index < 0 ? -1 : prices[index];
+    }
+
+    public BigDecimal price(long itemId) {
+        long minor = priceMinor(itemId);
+        return minor < 0 ? null : BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
@@ -2,6 +2,8 @@ package com.food.cart.repository;
 
 import com.food.cart.model.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +11,8 @@ import java.util.List;
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     
     List<CartItem> findByCartId(Long cartId);
+    
+    @Query("SELECT ci.id, ci.menuItemId, m.name, ci.quantity, m.imageUrl FROM CartItem ci " +
+           "JOIN MenuItem m ON ci.menuItemId = m.id WHERE ci.cartId = :cartId ORDER BY ci.id")
+    List<Object[]> findSummariesByCartId(@Param("cartId") Long cartId);
 }
@@ -2,11 +2,44 @@ package com.food.cart.repository;
 
 import com.food.cart.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     
     List<MenuItem> findByShopId(Long shopId);
+    
+    @Query("SELECT COUNT(m) AS itemCount, MIN(m.price) AS minPrice, MAX(m.price) AS maxPrice " +
+           "FROM MenuItem m WHERE m.shopId = :shopId")
+    MenuSummary summarizeByShopId(@Param("shopId") Long shopId);
+    
+    @Query("SELECT m.id, m.shopId, m.name, m.description, m.price FROM MenuItem m")
+    List<Object[]> findSearchFields();
+    
+    @Query("SELECT m.id, m.shopId, m.name, m.description, m.price FROM MenuItem m WHERE m.shopId = :shopId")
+    List<Object[]> findSearchFieldsByShopId(@Param("shopId") Long shopId);
+    
+    // Images are lazy on the entity; listings fetch them for a whole shop in one query
+    @Query("SELECT m.id, m.imageUrl FROM MenuItem m WHERE m.shopId = :shopId")
+    List<Object[]> findImagesByShopId(@Param("shopId") Long shopId);
+
+    @Query("SELECT m.id, m.price FROM MenuItem m WHERE m.shopId = :shopId")
+    List<Object[]> findPricesByShopId(@Param("shopId") Long shopId);
+
+    @Query("SELECT m.id, m.dailyStock FROM MenuItem m WHERE m.dailyStock IS NOT NULL")
+    List<Object[]> findStockLimits();
+    
+    @Query("SELECT m.id, m.dailyStock, m.stockRemaining FROM MenuItem m " +
+           "WHERE m.dailyStock IS NOT NULL AND m.stockRemaining IS NOT NULL AND m.stockDate = :day")
+    List<Object[]> findStockSnapshots(@Param("day") LocalDate day);
+    
+    @Query("SELECT m.id, m.dailyStock FROM MenuItem m WHERE m.shopId = :shopId")
+    List<Object[]> findStockLimitsByShopId(@Param("shopId") Long shopId);
+    
+    @Query("SELECT m.id FROM MenuItem m WHERE m.shopId = :shopId AND m.dailyStock IS NOT NULL")
+    List<Long> findStockedItemIds(@Param("shopId") Long shopId);
 }
@@ -0,0 +1,12 @@
+package com.food.cart.repository;
+
+import java.math.BigDecimal;
+
+public interface MenuSummary {
+
+    Long getItemCount();
+
+    BigDecimal getMinPrice();
+
+    BigDecimal getMaxPrice();
+}
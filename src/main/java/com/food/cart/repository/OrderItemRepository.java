@@ -2,12 +2,26 @@ package com.food.cart.repository;
 
 import com.food.cart.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     
     List<OrderItem> findByOrderId(Long orderId);
+    
+    // Order item rows with their menu item names for a page of orders, in one query
+    @Query("SELECT oi.orderId, oi.id, m.name, oi.quantity, oi.priceAtOrder FROM OrderItem oi " +
+           "JOIN MenuItem m ON oi.menuItemId = m.id WHERE oi.orderId IN :orderIds ORDER BY oi.id")
+    List<Object[]> findSummariesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+    
+    @Query("SELECT oi.menuItemId, SUM(oi.quantity) FROM OrderItem oi " +
+           "JOIN Order o ON oi.orderId = o.id WHERE o.createdAt >= :since AND o.status <> 'CANCELLED' " +
+           "GROUP BY oi.menuItemId")
+    List<Object[]> sumQuantitiesSince(@Param("since") LocalDateTime since);
 }
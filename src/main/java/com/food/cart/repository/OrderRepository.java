@@ -1,29 +1,38 @@
 package com.food.cart.repository;
 
 import com.food.cart.model.Order;
+import com.food.cart.model.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     
+    @EntityGraph(attributePaths = {"shop", "customer"})
     List<Order> findByCustomerId(Long customerId);
     
+    @EntityGraph(attributePaths = {"shop", "customer"})
     List<Order> findByShopId(Long shopId);
     
+    long countByShopId(Long shopId);
+    
+    long countByShopIdAndStatusIn(Long shopId, Collection<OrderStatus> statuses);
+    
     @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.shopId = :shopId AND o.status = 'DELIVERED'")
     BigDecimal calculateTotalRevenue(@Param("shopId") Long shopId);
     
     @Query("SELECT COUNT(o) FROM Order o WHERE o.shopId = :shopId AND o.status = 'PENDING'")
     Long countPendingOrders(@Param("shopId") Long shopId);
     
-    @Query("SELECT oi.menuItemId, SUM(oi.quantity) as total FROM OrderItem oi " +
-           "JOIN Order o ON oi.orderId = o.id WHERE o.shopId = :shopId " +
-           "GROUP BY oi.menuItemId ORDER BY total DESC")
+    @Query("SELECT oi.menuItemId, m.name, SUM(oi.quantity) as total FROM OrderItem oi " +
+           "JOIN Order o ON oi.orderId = o.id JOIN MenuItem m ON oi.menuItemId = m.id " +
+           "WHERE o.shopId = :shopId GROUP BY oi.menuItemId, m.name ORDER BY total DESC")
     List<Object[]> findTopSellingItems(@Param("shopId") Long shopId);
 }
@@ -0,0 +1,46 @@
+package com.food.cart.repository;
+
+import com.food.cart.model.OrderStatus;
+import com.food.cart.model.ShopListing;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ShopListingRepository extends JpaRepository<ShopListing, Long> {
+    
+    @Query("SELECT l FROM ShopListing l WHERE l.itemCount >= :minItems " +
+           "AND (:maxPrice IS NULL OR l.minPrice <= :maxPrice) " +
+           "AND (:maxActiveOrders IS NULL OR l.activeOrderCount < :maxActiveOrders)")
+    List<ShopListing> search(@Param("minItems") int minItems,
+                             @Param("maxPrice") BigDecimal maxPrice,
+                             @Param("maxActiveOrders") Integer maxActiveOrders,
+                             Sort sort);
+    
+    @Modifying
+    @Query("UPDATE ShopListing l SET l.orderCount = l.orderCount + 1, " +
+           "l.activeOrderCount = l.activeOrderCount + 1 WHERE l.shopId = :shopId")
+    int recordOrderPlaced(@Param("shopId") Long shopId);
+    
+    @Modifying
+    @Query("UPDATE ShopListing l SET l.activeOrderCount = l.activeOrderCount + :delta " +
+           "WHERE l.shopId = :shopId AND l.activeOrderCount + :delta >= 0")
+    int adjustActiveOrders(@Param("shopId") Long shopId, @Param("delta") int delta);
+    
+    // Counts and writes in one statement, so no increment can land between the count and the write
+    @Modifying
+    @Query("UPDATE ShopListing l SET " +
+           "l.orderCount = (SELECT COUNT(o) FROM Order o WHERE o.shopId = :shopId), " +
+           "l.activeOrderCount = (SELECT CAST(COUNT(o) AS Integer) FROM Order o " +
+           "WHERE o.shopId = :shopId AND o.status IN :activeStatuses) " +
+           "WHERE l.shopId = :shopId")
+    int recountOrders(@Param("shopId") Long shopId,
+                      @Param("activeStatuses") Collection<OrderStatus> activeStatuses);
+}
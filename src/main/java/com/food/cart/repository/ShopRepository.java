@@ -2,11 +2,21 @@ package com.food.cart.repository;
 
 import com.food.cart.model.Shop;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.Optional;
+import java.util.List;
 
 @Repository
-public interface ShopRepository extends JpaRepository<Shop, Long> {
+public interface ShopRepository extends JpaRepository<Shop, Long>, ShopRepositoryCustom {
     
-    Optional<Shop> findByOwnerId(Long ownerId);
+    @Query("SELECT s.id, s.latitude, s.longitude FROM Shop s " +
+           "WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL")
+    List<Object[]> findLocations();
+
+    @Query("SELECT s.id FROM Shop s ORDER BY s.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT s.menuVersion FROM Shop s WHERE s.id = :shopId")
+    Long findMenuVersion(@Param("shopId") Long shopId);
 }
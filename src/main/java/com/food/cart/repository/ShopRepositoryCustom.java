@@ -0,0 +1,13 @@
+package com.food.cart.repository;
+
+import com.food.cart.model.Shop;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface ShopRepositoryCustom {
+
+    // Natural-id loads need an open session, so run in a read-only transaction when called outside one
+    @Transactional(readOnly = true)
+    Optional<Shop> findByOwnerId(Long ownerId);
+}
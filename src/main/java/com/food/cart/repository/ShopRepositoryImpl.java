@@ -0,0 +1,23 @@
+package com.food.cart.repository;
+
+import com.food.cart.model.Shop;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class ShopRepositoryImpl implements ShopRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // owner_id is the shop's natural id, so this is answered from the natural-id cache
+    // instead of running a query on every owner request
+    @Override
+    public Optional<Shop> findByOwnerId(Long ownerId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Shop.class)
+                .loadOptional(ownerId);
+    }
+}
@@ -0,0 +1,398 @@
+package com.food.cart.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process inverted index over shop and menu item text with prefix and single-typo matching.
+// Postings are primitive int arrays of (docId << 1 | nameFlag); updates tombstone the old document.
+public class SearchIndex {
+
+    public enum DocType { SHOP, MENU_ITEM }
+
+    public record Doc(DocType type, long id, long shopId, String name, String description, BigDecimal price) {
+    }
+
+    public record Hit(Doc doc, float score) {
+    }
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final float EXACT = 3f;
+    private static final float PREFIX = 2f;
+    private static final float FUZZY = 1f;
+    private static final float NAME_BOOST = 2f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, IntList> postings = new TreeMap<>();
+    // Single-character deletions of each term, mapped back to the terms that produced them
+    private final Map<String, List<String>> deletions = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final BitSet deleted = new BitSet();
+    private final Map<Long, Integer> shopDocs = new HashMap<>();
+    private final Map<Long, Integer> itemDocs = new HashMap<>();
+
+    // Score accumulators are sized to the document count, so they are pooled rather than kept per thread:
+    // a virtual thread per request would each allocate its own, and idle threads would pin them
+    private final BlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    public void put(Doc doc) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Integer> byId = doc.type() == DocType.SHOP ? shopDocs : itemDocs;
+            Integer previous = byId.get(doc.id());
+            if (previous != null) {
+                deleted.set(previous);
+            }
+            byId.put(doc.id(), add(doc));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(DocType type, long id) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = (type == DocType.SHOP ? shopDocs : itemDocs).remove(id);
+            if (previous != null) {
+                deleted.set(previous);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(List<Doc> all) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Doc doc : all) {
+                Map<Long, Integer> byId = doc.type() == DocType.SHOP ? shopDocs : itemDocs;
+                byId.put(doc.id(), add(doc));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return shopDocs.size() + itemDocs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Scratch s = scratchPool.poll();
+        if (s == null) {
+            s = new Scratch();
+        }
+        List<Hit> hits;
+        int docCount;
+        lock.readLock().lock();
+        try {
+            docCount = docs.size();
+            s.ensureCapacity(docCount);
+            s.touched.size = 0;
+
+            for (String token : tokens) {
+                s.tokenTouched.size = 0;
+                scoreTerm(s, token, postings.get(token), EXACT);
+                for (Map.Entry<String, IntList> e : prefixMatches(token)) {
+                    scoreTerm(s, token, e.getValue(), PREFIX);
+                }
+                for (String term : fuzzyMatches(token)) {
+                    scoreTerm(s, token, postings.get(term), FUZZY);
+                }
+                for (int i = 0; i < s.tokenTouched.size; i++) {
+                    int doc = s.tokenTouched.values[i];
+                    if (s.matched[doc] == 0) {
+                        s.touched.add(doc);
+                    }
+                    s.matched[doc]++;
+                    s.total[doc] += s.tokenBest[doc];
+                    s.tokenBest[doc] = 0f;
+                }
+            }
+
+            hits = topHits(s, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Only a scratch whose accumulators were cleared by topHits goes back; one sized for an index
+        // that has since shrunk is dropped so the pool does not hold on to it
+        if (!s.oversizedFor(docCount)) {
+            scratchPool.offer(s);
+        }
+        return hits;
+    }
+
+    private void scoreTerm(Scratch s, String token, IntList list, float weight) {
+        if (list == null) {
+            return;
+        }
+        for (int i = 0; i < list.size; i++) {
+            int posting = list.values[i];
+            int doc = posting >>> 1;
+            if (deleted.get(doc)) {
+                continue;
+            }
+            float score = (posting & 1) == 1 ? weight * NAME_BOOST : weight;
+            if (s.tokenBest[doc] == 0f) {
+                s.tokenTouched.add(doc);
+            }
+            if (score > s.tokenBest[doc]) {
+                s.tokenBest[doc] = score;
+            }
+        }
+    }
+
+    private List<Hit> topHits(Scratch s, int limit) {
+        // Bounded min-heap of doc ids; documents matching more query tokens rank above partial matches
+        int[] heap = new int[Math.min(limit, s.touched.size)];
+        int heapSize = 0;
+        for (int i = 0; i < s.touched.size; i++) {
+            int doc = s.touched.values[i];
+            if (heapSize < heap.length) {
+                heap[heapSize] = doc;
+                siftUp(s, heap, heapSize++);
+            } else if (compare(s, doc, heap[0]) > 0) {
+                heap[0] = doc;
+                siftDown(s, heap, heapSize);
+            }
+        }
+
+        Hit[] hits = new Hit[heapSize];
+        while (heapSize > 0) {
+            int doc = heap[0];
+            hits[--heapSize] = new Hit(docs.get(doc), s.total[doc]);
+            heap[0] = heap[heapSize];
+            siftDown(s, heap, heapSize);
+        }
+        for (int i = 0; i < s.touched.size; i++) {
+            int doc = s.touched.values[i];
+            s.matched[doc] = 0;
+            s.total[doc] = 0f;
+        }
+        return Arrays.asList(hits);
+    }
+
+    private static void siftUp(Scratch s, int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(s, heap[i], heap[parent]) >= 0) {
+                return;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(Scratch s, int[] heap, int size) {
+        int i = 0;
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && compare(s, heap[left], heap[smallest]) < 0) {
+                smallest = left;
+            }
+            if (right < size && compare(s, heap[right], heap[smallest]) < 0) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(heap, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+
+    private static int compare(Scratch s, int a, int b) {
+        if (s.matched[a] != s.matched[b]) {
+            return Integer.compare(s.matched[a], s.matched[b]);
+        }
+        if (s.total[a] != s.total[b]) {
+            return Float.compare(s.total[a], s.total[b]);
+        }
+        return Integer.compare(b, a);
+    }
+
+    private List<Map.Entry<String, IntList>> prefixMatches(String token) {
+        NavigableMap<String, IntList> range = postings.subMap(token, false, token + Character.MAX_VALUE, false);
+        List<Map.Entry<String, IntList>> matches = new ArrayList<>();
+        for (Map.Entry<String, IntList> e : range.entrySet()) {
+            if (matches.size() == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            matches.add(e);
+        }
+        return matches;
+    }
+
+    // Terms within one insertion, deletion or substitution of the token
+    private Set<String> fuzzyMatches(String token) {
+        Set<String> matches = new LinkedHashSet<>();
+        if (token.length() < MIN_FUZZY_LENGTH) {
+            return matches;
+        }
+        matches.addAll(deletions.getOrDefault(token, List.of()));
+        for (String d : deletionsOf(token)) {
+            if (postings.containsKey(d)) {
+                matches.add(d);
+            }
+            matches.addAll(deletions.getOrDefault(d, List.of()));
+        }
+        matches.remove(token);
+        return matches;
+    }
+
+    private int add(Doc doc) {
+        int docId = docs.size();
+        docs.add(doc);
+        indexField(docId, doc.name(), true);
+        indexField(docId, doc.description(), false);
+        return docId;
+    }
+
+    private void indexField(int docId, String text, boolean name) {
+        int posting = docId << 1 | (name ? 1 : 0);
+        for (String token : new LinkedHashSet<>(tokenize(text))) {
+            IntList list = postings.get(token);
+            if (list == null) {
+                list = new IntList();
+                postings.put(token, list);
+                if (token.length() >= MIN_FUZZY_LENGTH) {
+                    for (String d : deletionsOf(token)) {
+                        deletions.computeIfAbsent(d, k -> new ArrayList<>(1)).add(token);
+                    }
+                }
+            }
+            list.add(posting);
+        }
+    }
+
+    private void compactIfNeeded() {
+        int dead = deleted.cardinality();
+        if (dead > 1024 && dead > docs.size() / 2) {
+            List<Doc> live = new ArrayList<>(docs.size() - dead);
+            for (int i = 0; i < docs.size(); i++) {
+                if (!deleted.get(i)) {
+                    live.add(docs.get(i));
+                }
+            }
+            clear();
+            for (Doc doc : live) {
+                (doc.type() == DocType.SHOP ? shopDocs : itemDocs).put(doc.id(), add(doc));
+            }
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        deletions.clear();
+        docs.clear();
+        deleted.clear();
+        shopDocs.clear();
+        itemDocs.clear();
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> deletionsOf(String term) {
+        List<String> result = new ArrayList<>(term.length());
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    static final class IntList {
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    // Score accumulators, reused across queries to keep the query path allocation-light
+    private static final class Scratch {
+
+        private static final int MIN_CAPACITY = 1024;
+
+        float[] total = new float[0];
+        float[] tokenBest = new float[0];
+        int[] matched = new int[0];
+        final IntList touched = new IntList();
+        final IntList tokenTouched = new IntList();
+
+        void ensureCapacity(int docCount) {
+            if (total.length < docCount) {
+                int capacity = Math.max(docCount, total.length * 2);
+                total = Arrays.copyOf(total, capacity);
+                tokenBest = Arrays.copyOf(tokenBest, capacity);
+                matched = Arrays.copyOf(matched, capacity);
+            }
+        }
+
+        boolean oversizedFor(int docCount) {
+            return total.length > MIN_CAPACITY && total.length > docCount * 4L;
+        }
+    }
+}
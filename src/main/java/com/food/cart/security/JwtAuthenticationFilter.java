@@ -4,6 +4,8 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.food.cart.jfr.TokenVerificationEvent;
+import com.food.cart.metrics.HotPathMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,6 +26,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private HotPathMetrics hotPathMetrics;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -37,11 +42,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             token = authHeader.substring(7);
+            HotPathMetrics.Sample verification = hotPathMetrics.start("auth.jwt");
+            TokenVerificationEvent event = new TokenVerificationEvent();
+            event.tokenLength = token.length();
+            event.begin();
             try {
                 username = jwtUtil.extractUsername(token);
+                verification.stop(HotPathMetrics.SUCCESS, null);
+                event.valid = true;
             } catch (Exception e) {
                 // Invalid token
+                verification.stop(HotPathMetrics.REJECTED, e);
+                event.failure = e.getClass().getSimpleName();
             }
+            event.commit();
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
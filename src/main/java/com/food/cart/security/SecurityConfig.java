@@ -1,5 +1,6 @@
 package com.food.cart.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,13 +28,26 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streaming exports finish on an async dispatch and failures render on an error dispatch;
+                        // either way the request was authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/", "/login", "/register", "/shops", "/cart", "/orders", "/owner/**",
                                 "/css/**", "/js/**", "/images/**")
                         .permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/shops/**").permitAll()
+                        .requestMatchers("/api/search").permitAll()
                         .requestMatchers("/api/cart/**", "/api/orders/**").hasRole("CUSTOMER")
                         .requestMatchers("/api/owner/**").hasRole("OWNER")
+                        // Liveness and readiness probes; details stay hidden from anonymous callers
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Scrapers authenticate with the bearer token of an operator account
+                        .requestMatchers("/actuator/prometheus").hasRole("OPS")
+                        // Per-endpoint SQL statistics and metrics describe the whole platform, not one tenant
+                        .requestMatchers("/actuator/sqlstats", "/actuator/sqlstats/**",
+                                "/actuator/metrics", "/actuator/metrics/**").hasRole("OPS")
+                        .requestMatchers("/actuator/flightrecording/**", "/actuator/flightrecording").hasRole("OPS")
+                        .requestMatchers("/actuator/startup").hasRole("OPS")
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,357 @@
+package com.food.cart.seed;
+
+import com.food.cart.cache.EntityCacheEvictor;
+import com.food.cart.model.MenuItem;
+import com.food.cart.model.OrderStatus;
+import com.food.cart.model.Shop;
+import com.food.cart.model.UserRole;
+import com.food.cart.service.ShopListingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Bulk-loads a synthetic dataset straight through JDBC and exits:
+//   java -jar foodcart.jar --spring.profiles.active=seed --seed.shops=2000 --seed.orders=2000000
+// The same seed.random-seed produces the same rows. Ids continue after the current maximum, so
+// seeding appends to an existing database rather than colliding with it.
+@Component
+@Profile("seed")
+public class DataSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSeeder.class);
+
+    private static final List<String> TABLES = List.of("users", "shops", "menu_items", "cart", "orders", "order_items");
+    private static final String[] DISHES = {
+            "Paneer Tikka", "Chicken Biryani", "Masala Dosa", "Veg Wrap", "Butter Naan", "Mango Lassi",
+            "Cold Coffee", "Momo Platter", "Hakka Noodles", "Lemon Rice", "Cheese Burger", "Peri Fries",
+            "Idli Sambar", "Chole Bhature", "Pav Bhaji", "Falafel Roll", "Margherita Pizza", "Pad Thai"
+    };
+    // Relative order volume by hour of day: lunch and dinner peaks
+    private static final int[] HOUR_WEIGHTS = {
+            1, 0, 0, 0, 0, 0, 1, 2, 4, 4, 4, 8, 20, 22, 12, 5, 4, 6, 10, 18, 20, 14, 6, 2
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ShopListingService shopListingService;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.shops:2000}")
+    private int shops;
+
+    @Value("${seed.items-per-shop:200}")
+    private int itemsPerShop;
+
+    @Value("${seed.customers:100000}")
+    private int customers;
+
+    @Value("${seed.orders:2000000}")
+    private int orders;
+
+    @Value("${seed.days:90}")
+    private int days;
+
+    @Value("${seed.shop-skew:0.8}")
+    private double shopSkew;
+
+    @Value("${seed.item-skew:1.1}")
+    private double itemSkew;
+
+    @Value("${seed.rows-per-statement:1000}")
+    private int rowsPerStatement;
+
+    @Value("${seed.statements-per-batch:20}")
+    private int statementsPerBatch;
+
+    @Value("${seed.defer-indexes:true}")
+    private boolean deferIndexes;
+
+    @Value("${seed.exit:true}")
+    private boolean exitWhenDone;
+
+    private final Map<String, long[]> timings = new LinkedHashMap<>();
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+            connection.setAutoCommit(false);
+            if (mysql) {
+                execute(connection, "SET unique_checks = 0, foreign_key_checks = 0");
+            }
+
+            IndexDeferral deferral = new IndexDeferral(connection);
+            if (deferIndexes) {
+                long start = System.nanoTime();
+                List<IndexDeferral.IndexDefinition> dropped = deferral.defer(TABLES);
+                log.info("Deferred {} indexes: {}", dropped.size(),
+                        dropped.stream().map(IndexDeferral.IndexDefinition::name).toList());
+                timings.put("drop indexes", new long[] { 0, System.nanoTime() - start });
+            }
+
+            try {
+                seed(connection);
+            } finally {
+                if (deferIndexes) {
+                    long start = System.nanoTime();
+                    deferral.restore();
+                    timings.put("rebuild indexes", new long[] { 0, System.nanoTime() - start });
+                }
+                if (mysql) {
+                    execute(connection, "SET unique_checks = 1, foreign_key_checks = 1");
+                }
+            }
+        }
+
+        // Rows were written around Hibernate; nothing cached before the load may outlive it
+        entityCacheEvictor.evictAll(Shop.class);
+        entityCacheEvictor.evictAll(MenuItem.class);
+
+        long start = System.nanoTime();
+        shopListingService.rebuildAll();
+        timings.put("shop_listing", new long[] { shops, System.nanoTime() - start });
+
+        report(System.nanoTime() - started);
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private void seed(Connection connection) throws SQLException {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        long firstUser = nextId("users");
+        long firstShop = nextId("shops");
+        long firstItem = nextId("menu_items");
+        long firstCart = nextId("cart");
+        long firstOrder = nextId("orders");
+        long firstOrderItem = nextId("order_items");
+        // Hashing is deliberately slow, so every seeded account shares one hash of "password"
+        String passwordHash = passwordEncoder.encode("password");
+
+        // Owners occupy the first user ids, one per shop; customers follow
+        long start = System.nanoTime();
+        try (MultiRowInserter users = inserter(connection, "users", "id", "username", "email", "password", "role")) {
+            for (int s = 0; s < shops; s++) {
+                long id = firstUser + s;
+                users.add(id, "owner" + id, "owner" + id + "@seed.local", passwordHash, UserRole.ROLE_OWNER.name());
+            }
+            for (int c = 0; c < customers; c++) {
+                long id = firstUser + shops + c;
+                users.add(id, "customer" + id, "customer" + id + "@seed.local", passwordHash,
+                        UserRole.ROLE_CUSTOMER.name());
+            }
+            users.flush();
+            record("users", users, start);
+        }
+
+        start = System.nanoTime();
+        try (MultiRowInserter carts = inserter(connection, "cart", "id", "user_id", "total_amount")) {
+            for (int c = 0; c < customers; c++) {
+                carts.add(firstCart + c, firstUser + shops + c, BigDecimal.ZERO);
+            }
+            carts.flush();
+            record("cart", carts, start);
+        }
+
+        start = System.nanoTime();
+        try (MultiRowInserter shopRows = inserter(connection, "shops",
+                "id", "shop_name", "description", "address", "owner_id", "latitude", "longitude")) {
+            for (int s = 0; s < shops; s++) {
+                shopRows.add(firstShop + s,
+                        DISHES[random.nextInt(DISHES.length)].split(" ")[0] + " House " + (firstShop + s),
+                        "Seeded shop",
+                        (1 + random.nextInt(999)) + " Market Road",
+                        firstUser + s,
+                        12.80 + random.nextDouble() * 0.35,
+                        77.45 + random.nextDouble() * 0.35);
+            }
+            shopRows.flush();
+            record("shops", shopRows, start);
+        }
+
+        // Menu sizes vary around items-per-shop; prices are kept for pricing the orders
+        int[] menuSize = new int[shops];
+        long[] menuStart = new long[shops];
+        long totalItems = 0;
+        for (int s = 0; s < shops; s++) {
+            menuSize[s] = Math.max(1, itemsPerShop / 2 + random.nextInt(itemsPerShop + 1));
+            menuStart[s] = totalItems;
+            totalItems += menuSize[s];
+        }
+        int[] priceMinor = new int[Math.toIntExact(totalItems)];
+
+        start = System.nanoTime();
+        try (MultiRowInserter items = inserter(connection, "menu_items",
+                "id", "shop_id", "name", "description", "price")) {
+            for (int s = 0; s < shops; s++) {
+                for (int i = 0; i < menuSize[s]; i++) {
+                    int index = (int) (menuStart[s] + i);
+                    priceMinor[index] = 4_000 + random.nextInt(46_000);
+                    items.add(firstItem + index, firstShop + s,
+                            DISHES[random.nextInt(DISHES.length)] + " " + (i + 1),
+                            "Freshly made",
+                            BigDecimal.valueOf(priceMinor[index], 2));
+                }
+            }
+            items.flush();
+            record("menu_items", items, start);
+        }
+
+        ZipfSampler shopPopularity = new ZipfSampler(shops, shopSkew);
+        Map<Integer, ZipfSampler> itemPopularity = new HashMap<>();
+        int[] hourCumulative = new int[HOUR_WEIGHTS.length];
+        for (int h = 0, sum = 0; h < HOUR_WEIGHTS.length; h++) {
+            sum += HOUR_WEIGHTS[h];
+            hourCumulative[h] = sum;
+        }
+        LocalDate today = LocalDate.now();
+
+        start = System.nanoTime();
+        long orderItemId = firstOrderItem;
+        try (MultiRowInserter orderRows = inserter(connection, "orders",
+                "id", "customer_id", "shop_id", "total_amount", "status", "created_at");
+             MultiRowInserter lineRows = inserter(connection, "order_items",
+                     "id", "order_id", "menu_item_id", "quantity", "price_at_order").after(orderRows)) {
+            int[] lineItems = new int[4];
+            int[] lineQuantities = new int[4];
+            for (int o = 0; o < orders; o++) {
+                long orderId = firstOrder + o;
+                int shop = shopPopularity.next(random);
+                ZipfSampler menu = itemPopularity.computeIfAbsent(menuSize[shop], n -> new ZipfSampler(n, itemSkew));
+                // Rotate ranks per shop so the best seller is not always the first item
+                int rotation = (int) ((firstShop + shop) % menuSize[shop]);
+
+                int lines = 1 + random.nextInt(4);
+                long total = 0;
+                for (int l = 0; l < lines; l++) {
+                    lineItems[l] = (int) menuStart[shop] + (menu.next(random) + rotation) % menuSize[shop];
+                    lineQuantities[l] = 1 + (random.nextInt(10) == 0 ? random.nextInt(4) : 0);
+                    total += (long) priceMinor[lineItems[l]] * lineQuantities[l];
+                }
+
+                int dayOffset = random.nextInt(days);
+                int hour = pickHour(hourCumulative, random);
+                LocalDateTime createdAt = today.minusDays(dayOffset).atTime(hour, random.nextInt(60), random.nextInt(60));
+                OrderStatus status = dayOffset == 0
+                        ? OrderStatus.values()[random.nextInt(4)]
+                        : random.nextInt(30) == 0 ? OrderStatus.CANCELLED : OrderStatus.DELIVERED;
+
+                orderRows.add(orderId, firstUser + shops + random.nextInt(customers), firstShop + shop,
+                        BigDecimal.valueOf(total, 2), status.name(), Timestamp.valueOf(createdAt));
+                for (int l = 0; l < lines; l++) {
+                    lineRows.add(orderItemId++, orderId, firstItem + lineItems[l], lineQuantities[l],
+                            BigDecimal.valueOf(priceMinor[lineItems[l]], 2));
+                }
+            }
+            lineRows.flush();
+            long elapsed = System.nanoTime() - start;
+            timings.put("orders", new long[] { orderRows.getRows(), elapsed });
+            timings.put("order_items", new long[] { lineRows.getRows(), elapsed });
+        }
+    }
+
+    private static int pickHour(int[] cumulative, SplittableRandom random) {
+        int target = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int h = 0; h < cumulative.length; h++) {
+            if (target < cumulative[h]) {
+                return h;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    private MultiRowInserter inserter(Connection connection, String table, String... columns) throws SQLException {
+        return new MultiRowInserter(connection, table, columns, rowsPerStatement, statementsPerBatch);
+    }
+
+    private void record(String table, MultiRowInserter inserter, long start) {
+        timings.put(table, new long[] { inserter.getRows(), System.nanoTime() - start });
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void report(long totalNanos) {
+        long rows = 0;
+        long insertNanos = 0;
+        log.info(String.format(Locale.ROOT, "%-16s %12s %10s %12s", "step", "rows", "seconds", "rows/s"));
+        for (Map.Entry<String, long[]> step : timings.entrySet()) {
+            long stepRows = step.getValue()[0];
+            double seconds = step.getValue()[1] / 1e9;
+            log.info(String.format(Locale.ROOT, "%-16s %12d %10.2f %12s", step.getKey(), stepRows, seconds,
+                    stepRows == 0 ? "" : String.format(Locale.ROOT, "%.0f", stepRows / seconds)));
+            if (TABLES.contains(step.getKey())) {
+                rows += stepRows;
+                if (!step.getKey().equals("order_items")) {
+                    // orders and order_items share one timing
+                    insertNanos += step.getValue()[1];
+                }
+            }
+        }
+        log.info(String.format(Locale.ROOT, "Inserted %d rows in %.2f s (%.0f rows/s); %.2f s end to end",
+                rows, insertNanos / 1e9, rows / (insertNanos / 1e9), totalNanos / 1e9));
+
+        // Table sizes are only available from MySQL's information_schema
+        try {
+            for (Map<String, Object> table : jdbcTemplate.queryForList(
+                    "SELECT table_name, table_rows, data_length, index_length FROM information_schema.tables "
+                            + "WHERE table_schema = DATABASE() ORDER BY data_length + index_length DESC")) {
+                log.info(String.format(Locale.ROOT, "%-16s ~%10s rows %10.1f MB data %10.1f MB index",
+                        table.get("table_name"), table.get("table_rows"),
+                        ((Number) table.get("data_length")).longValue() / 1048576.0,
+                        ((Number) table.get("index_length")).longValue() / 1048576.0));
+            }
+        } catch (RuntimeException e) {
+            log.info("Table sizes not available on this database");
+        }
+    }
+}
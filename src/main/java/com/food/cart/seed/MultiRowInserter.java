@@ -0,0 +1,108 @@
+package com.food.cart.seed;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+// Buffers rows into INSERT ... VALUES (..), (..), ... statements of a fixed row count and sends
+// them as JDBC batches, committing after each batch. The tail that does not fill a statement is
+// written with a statement of its own on flush. A child table names its parent inserter so the
+// parent rows are always written first and foreign keys hold even where checks stay on.
+final class MultiRowInserter implements AutoCloseable {
+
+    private final Connection connection;
+    private final String table;
+    private final String columns;
+    private final int width;
+    private final int rowsPerStatement;
+    private final int statementsPerBatch;
+
+    private final PreparedStatement full;
+    private final Object[] buffer;
+    private MultiRowInserter parent;
+    private int buffered;
+    private int batched;
+    private long rows;
+
+    MultiRowInserter(Connection connection, String table, String[] columns, int rowsPerStatement,
+                     int statementsPerBatch) throws SQLException {
+        this.connection = connection;
+        this.table = table;
+        this.columns = String.join(", ", columns);
+        this.width = columns.length;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerBatch = statementsPerBatch;
+        this.full = connection.prepareStatement(sql(rowsPerStatement));
+        this.buffer = new Object[rowsPerStatement * width];
+    }
+
+    MultiRowInserter after(MultiRowInserter parent) {
+        this.parent = parent;
+        return this;
+    }
+
+    void add(Object... values) throws SQLException {
+        System.arraycopy(values, 0, buffer, buffered * width, width);
+        if (++buffered == rowsPerStatement) {
+            bind(full, rowsPerStatement);
+            full.addBatch();
+            buffered = 0;
+            if (++batched == statementsPerBatch) {
+                executeBatch();
+            }
+        }
+    }
+
+    void flush() throws SQLException {
+        if (parent != null) {
+            parent.flush();
+        }
+        executeBatch();
+        if (buffered > 0) {
+            try (PreparedStatement tail = connection.prepareStatement(sql(buffered))) {
+                bind(tail, buffered);
+                tail.executeUpdate();
+            }
+            rows += buffered;
+            buffered = 0;
+            connection.commit();
+        }
+    }
+
+    long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        full.close();
+    }
+
+    private void executeBatch() throws SQLException {
+        if (batched == 0) {
+            return;
+        }
+        if (parent != null) {
+            parent.flush();
+        }
+        full.executeBatch();
+        connection.commit();
+        rows += (long) batched * rowsPerStatement;
+        batched = 0;
+    }
+
+    private void bind(PreparedStatement statement, int rowCount) throws SQLException {
+        for (int i = 0; i < rowCount * width; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+    }
+
+    private String sql(int rowCount) {
+        String row = "(" + String.join(", ", Collections.nCopies(width, "?")) + ")";
+        String[] values = new String[rowCount];
+        Arrays.fill(values, row);
+        return "INSERT INTO " + table + " (" + columns + ") VALUES " + String.join(", ", values);
+    }
+}
@@ -1,10 +1,13 @@
 package com.food.cart.service;
 
+import com.food.cart.cache.AfterCommit;
+import com.food.cart.cache.ShopCatalogCache;
 import com.food.cart.dto.LoginDTO;
 import com.food.cart.dto.LoginResponseDTO;
 import com.food.cart.dto.RegisterDTO;
 import com.food.cart.dto.RegisterOwnerDTO;
 import com.food.cart.exception.UnauthorizedException;
+import com.food.cart.metrics.HotPathMetrics;
 import com.food.cart.model.*;
 import com.food.cart.repository.CartRepository;
 import com.food.cart.repository.ShopRepository;
@@ -35,6 +38,21 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Autowired
+    private ShopCatalogCache shopCatalogCache;
+    
+    @Autowired
+    private ShopListingService shopListingService;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private NearbyShopService nearbyShopService;
+    
+    @Autowired
+    private HotPathMetrics hotPathMetrics;
+    
     @Transactional
     public void registerCustomer(RegisterDTO dto) {
         // Create user with ROLE_CUSTOMER
@@ -68,10 +86,21 @@ public class AuthService {
         shop.setShopName(dto.getShopName());
         shop.setDescription(dto.getDescription());
         shop.setAddress(dto.getAddress());
-        shopRepository.save(shop);
+        shop.setLatitude(dto.getLatitude());
+        shop.setLongitude(dto.getLongitude());
+        Shop saved = shopRepository.save(shop);
+        Long shopId = saved.getId();
+        shopCatalogCache.invalidate();
+        AfterCommit.run(() -> shopListingService.refreshShop(shopId));
+        AfterCommit.run(() -> searchService.indexShop(saved));
+        AfterCommit.run(() -> nearbyShopService.indexShop(saved));
     }
     
     public LoginResponseDTO login(LoginDTO dto) {
+        return hotPathMetrics.time("auth.login", () -> authenticate(dto));
+    }
+
+    private LoginResponseDTO authenticate(LoginDTO dto) {
         User user = userRepository.findByUsername(dto.getUsername())
                 .orElseThrow(() -> new UnauthorizedException("Invalid username or password"));
         
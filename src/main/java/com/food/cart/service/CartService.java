@@ -5,9 +5,12 @@ import com.food.cart.dto.CartDTO;
 import com.food.cart.dto.CartItemDTO;
 import com.food.cart.exception.BusinessRuleException;
 import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.jfr.CartRecalculationEvent;
+import com.food.cart.metrics.HotPathMetrics;
 import com.food.cart.model.Cart;
 import com.food.cart.model.CartItem;
 import com.food.cart.model.MenuItem;
+import com.food.cart.pricing.MenuPriceSnapshot;
 import com.food.cart.repository.CartItemRepository;
 import com.food.cart.repository.CartRepository;
 import com.food.cart.repository.MenuItemRepository;
@@ -16,8 +19,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class CartService {
@@ -31,14 +34,35 @@ public class CartService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private HotPathMetrics hotPathMetrics;
+
+    @Transactional(readOnly = true)
     public CartDTO getCart(Long userId) {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user"));
 
-        List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
-        List<CartItemDTO> itemDTOs = cartItems.stream()
-                .map(this::convertToCartItemDTO)
-                .collect(Collectors.toList());
+        List<CartItemDTO> itemDTOs = new ArrayList<>();
+        List<Object[]> rows = cartItemRepository.findSummariesByCartId(cart.getId());
+        if (!rows.isEmpty() && cart.getShopId() != null) {
+            MenuPriceSnapshot prices = menuPriceService.current(cart.getShopId());
+            for (Object[] row : rows) {
+                Long menuItemId = (Long) row[1];
+                itemDTOs.add(new CartItemDTO(
+                        (Long) row[0],
+                        menuItemId,
+                        (String) row[2],
+                        prices.price(menuItemId),
+                        (Integer) row[3],
+                        (String) row[4]));
+            }
+        }
 
         String shopName = null;
         if (cart.getShopId() != null && cart.getShop() != null) {
@@ -55,6 +79,10 @@ public class CartService {
 
     @Transactional
     public void addItemToCart(Long userId, AddToCartDTO dto) {
+        hotPathMetrics.timeTransaction("cart.add", () -> addItem(userId, dto));
+    }
+
+    private void addItem(Long userId, AddToCartDTO dto) {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user"));
 
@@ -70,6 +98,12 @@ public class CartService {
             throw new BusinessRuleException("Cannot add items from different shops to cart");
         }
 
+        // Early feedback only; stock is reserved when the order is placed
+        Integer remaining = stockService.getRemaining(menuItem.getId());
+        if (remaining != null && remaining < dto.getQuantity()) {
+            throw new BusinessRuleException(menuItem.getName() + " is sold out or has too little stock left");
+        }
+
         // Check if item already exists in cart
         List<CartItem> existingItems = cartItemRepository.findByCartId(cart.getId());
         CartItem existingItem = existingItems.stream()
@@ -96,6 +130,10 @@ public class CartService {
 
     @Transactional
     public void removeItemFromCart(Long userId, Long cartItemId) {
+        hotPathMetrics.timeTransaction("cart.remove", () -> removeItem(userId, cartItemId));
+    }
+
+    private void removeItem(Long userId, Long cartItemId) {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user"));
 
@@ -120,29 +158,41 @@ public class CartService {
     }
 
     private void recalculateCartTotal(Cart cart) {
+        CartRecalculationEvent event = new CartRecalculationEvent();
+        event.begin();
+        try {
+            hotPathMetrics.time("cart.recalculate", () -> priceCart(cart, event));
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void priceCart(Cart cart, CartRecalculationEvent event) {
         List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
+        event.lines = cartItems.size();
+
+        if (cartItems.isEmpty() || cart.getShopId() == null) {
+            cart.setTotalAmount(BigDecimal.ZERO);
+            cart.setMenuVersion(null);
+            cartRepository.save(cart);
+            return;
+        }
 
-        BigDecimal total = BigDecimal.ZERO;
+        // Price every line against one menu version so the total is never a mix of old and new prices
+        MenuPriceSnapshot prices = menuPriceService.current(cart.getShopId());
+        event.shopId = cart.getShopId();
+        event.menuVersion = prices.getVersion();
+        long total = 0;
         for (CartItem item : cartItems) {
-            MenuItem menuItem = menuItemRepository.findById(item.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
-            total = total.add(menuItem.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            long price = prices.priceMinor(item.getMenuItemId());
+            if (price < 0) {
+                throw new ResourceNotFoundException("Menu item not found");
+            }
+            total += price * item.getQuantity();
         }
 
-        cart.setTotalAmount(total);
+        cart.setTotalAmount(MenuPriceSnapshot.toAmount(total));
+        cart.setMenuVersion(prices.getVersion());
         cartRepository.save(cart);
     }
-
-    private CartItemDTO convertToCartItemDTO(CartItem cartItem) {
-        MenuItem menuItem = menuItemRepository.findById(cartItem.getMenuItemId())
-                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
-
-        return new CartItemDTO(
-                cartItem.getId(),
-                cartItem.getMenuItemId(),
-                menuItem.getName(),
-                menuItem.getPrice(),
-                cartItem.getQuantity(),
-                menuItem.getImageUrl());
-    }
 }
@@ -0,0 +1,89 @@
+package com.food.cart.service;
+
+import com.food.cart.cache.AfterCommit;
+import com.food.cart.cache.EntityCacheEvictor;
+import com.food.cart.datasource.ReplicaRoutingDataSource;
+import com.food.cart.model.Shop;
+import com.food.cart.pricing.MenuPriceSnapshot;
+import com.food.cart.repository.MenuItemRepository;
+import com.food.cart.repository.ShopRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class MenuPriceService {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentHashMap<Long, MenuPriceSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public MenuPriceSnapshot current(Long shopId) {
+        MenuPriceSnapshot snapshot = snapshots.get(shopId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return install(load(shopId));
+    }
+
+    // Called inside a menu write transaction: bumps the persisted version and republishes once committed
+    public void menuChanged(Long shopId) {
+        jdbcTemplate.update("UPDATE shops SET menu_version = menu_version + 1 WHERE id = ?", shopId);
+        entityCacheEvictor.evictAfterCommit(Shop.class, shopId);
+        AfterCommit.run(() -> install(load(shopId)));
+    }
+
+    // Snapshots are shared by every cart of the shop, so they are read from the primary. A read-only
+    // caller such as getCart may already hold a replica connection; the load gets its own transaction then.
+    private MenuPriceSnapshot load(Long shopId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return read(shopId);
+            }
+            TransactionTemplate primaryRead = new TransactionTemplate(transactionManager);
+            primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            primaryRead.setReadOnly(true);
+            return primaryRead.execute(status -> read(shopId));
+        });
+    }
+
+    private MenuPriceSnapshot read(Long shopId) {
+        // Version is read before prices so a snapshot never claims a newer version than its contents
+        Long version = shopRepository.findMenuVersion(shopId);
+        List<Object[]> rows = menuItemRepository.findPricesByShopId(shopId);
+        long[] ids = new long[rows.size()];
+        BigDecimal[] prices = new BigDecimal[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ids[i] = ((Number) rows.get(i)[0]).longValue();
+            prices[i] = (BigDecimal) rows.get(i)[1];
+        }
+        return MenuPriceSnapshot.of(shopId, version == null ? 0 : version, ids, prices);
+    }
+
+    private MenuPriceSnapshot install(MenuPriceSnapshot snapshot) {
+        // Never replace a newer version with one loaded earlier
+        return snapshots.merge(snapshot.getShopId(), snapshot,
+                (existing, loaded) -> loaded.getVersion() >= existing.getVersion() ? loaded : existing);
+    }
+}
@@ -1,5 +1,7 @@
 package com.food.cart.service;
 
+import com.food.cart.cache.AfterCommit;
+import com.food.cart.cache.MenuResponseCache;
 import com.food.cart.dto.MenuItemDTO;
 import com.food.cart.exception.ForbiddenException;
 import com.food.cart.exception.ResourceNotFoundException;
@@ -20,6 +22,21 @@ public class MenuService {
     @Autowired
     private ShopRepository shopRepository;
 
+    @Autowired
+    private MenuResponseCache menuResponseCache;
+
+    @Autowired
+    private ShopListingService shopListingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
     @Transactional
     public void addMenuItem(Long ownerId, MenuItemDTO dto) {
         Shop shop = shopRepository.findByOwnerId(ownerId)
@@ -31,7 +48,13 @@ public class MenuService {
         menuItem.setDescription(dto.getDescription());
         menuItem.setPrice(dto.getPrice());
         menuItem.setImageUrl(dto.getImageUrl());
-        menuItemRepository.save(menuItem);
+        menuItem.setDailyStock(dto.getDailyStock());
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuResponseCache.invalidate(shop.getId());
+        menuPriceService.menuChanged(shop.getId());
+        AfterCommit.run(() -> shopListingService.refreshShop(shop.getId()));
+        AfterCommit.run(() -> searchService.indexMenuItem(saved));
+        AfterCommit.run(() -> stockService.configure(saved.getId(), saved.getDailyStock(), null));
     }
 
     @Transactional
@@ -50,7 +73,14 @@ public class MenuService {
         menuItem.setDescription(dto.getDescription());
         menuItem.setPrice(dto.getPrice());
         menuItem.setImageUrl(dto.getImageUrl());
-        menuItemRepository.save(menuItem);
+        Integer previousStock = menuItem.getDailyStock();
+        menuItem.setDailyStock(dto.getDailyStock());
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuResponseCache.invalidate(shop.getId());
+        menuPriceService.menuChanged(shop.getId());
+        AfterCommit.run(() -> shopListingService.refreshShop(shop.getId()));
+        AfterCommit.run(() -> searchService.indexMenuItem(saved));
+        AfterCommit.run(() -> stockService.configure(itemId, saved.getDailyStock(), previousStock));
     }
 
     @Transactional
@@ -67,6 +97,11 @@ public class MenuService {
 
         try {
             menuItemRepository.delete(menuItem);
+            menuResponseCache.invalidate(shop.getId());
+            menuPriceService.menuChanged(shop.getId());
+            AfterCommit.run(() -> shopListingService.refreshShop(shop.getId()));
+            AfterCommit.run(() -> searchService.removeMenuItem(itemId));
+            AfterCommit.run(() -> stockService.remove(itemId));
         } catch (org.springframework.dao.DataIntegrityViolationException e) {
             throw new RuntimeException(
                     "Cannot delete menu item because it has been ordered by customers. You can edit it instead.");
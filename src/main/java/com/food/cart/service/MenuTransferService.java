@@ -0,0 +1,309 @@
+package com.food.cart.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.cache.AfterCommit;
+import com.food.cart.cache.EntityCacheEvictor;
+import com.food.cart.cache.MenuResponseCache;
+import com.food.cart.dto.ImportReportDTO;
+import com.food.cart.dto.MenuItemDTO;
+import com.food.cart.exception.BusinessRuleException;
+import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.model.MenuItem;
+import com.food.cart.model.Shop;
+import com.food.cart.repository.ShopRepository;
+import com.food.cart.util.Csv;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class MenuTransferService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String CSV_HEADER = "name,description,price,dailyStock,imageUrl";
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO menu_items (shop_id, name, description, price, daily_stock, image_url) VALUES (?, ?, ?, ?, ?, ?)";
+    // A missing image in the file keeps the image already stored
+    private static final String UPDATE_SQL =
+            "UPDATE menu_items SET description = ?, price = ?, daily_stock = ?, image_url = COALESCE(?, image_url) "
+                    + "WHERE shop_id = ? AND name = ?";
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private MenuResponseCache menuResponseCache;
+
+    @Autowired
+    private ShopListingService shopListingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    @Value("${menu-import.batch-size:200}")
+    private int batchSize;
+
+    @Value("${export.fetch-size:500}")
+    private int exportFetchSize;
+
+    @Transactional
+    public ImportReportDTO importMenu(Long ownerId, InputStream body, String format) {
+        Shop shop = shopRepository.findByOwnerId(ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
+        Long shopId = shop.getId();
+
+        // The name column's collation ignores case and trailing spaces, so rows are matched the same
+        // way here; updates then address the row by the name as it is stored
+        Map<String, String> existingNames = new HashMap<>();
+        for (String stored : jdbcTemplate.queryForList(
+                "SELECT name FROM menu_items WHERE shop_id = ?", String.class, shopId)) {
+            existingNames.put(nameKey(stored), stored);
+        }
+
+        ImportReportDTO report = new ImportReportDTO();
+        List<Object[]> inserts = new ArrayList<>(batchSize);
+        List<Object[]> updates = new ArrayList<>(batchSize);
+
+        try (LineNumberReader reader = new LineNumberReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            boolean csv = CSV.equals(format);
+            List<String> header = null;
+            while (true) {
+                // A CSV record spans lines when a quoted field holds a line break; errors report its first line
+                long lineNumber = reader.getLineNumber() + 1;
+                String line = csv ? Csv.readRecord(reader) : reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = Csv.parseLine(line).stream()
+                            .map(h -> h.trim().toLowerCase(Locale.ROOT))
+                            .collect(Collectors.toList());
+                    if (!header.contains("name") || !header.contains("price")) {
+                        throw new BusinessRuleException("CSV header must include name and price columns");
+                    }
+                    continue;
+                }
+
+                MenuItemDTO row;
+                try {
+                    row = csv ? parseCsvRow(header, line) : objectMapper.readValue(line, MenuItemDTO.class);
+                } catch (JsonProcessingException | IllegalArgumentException | ArithmeticException e) {
+                    reject(report, lineNumber, "Could not parse row: " + e.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<MenuItemDTO>> violations = validator.validate(row);
+                if (!violations.isEmpty()) {
+                    reject(report, lineNumber, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                String name = row.getName().trim();
+                String stored = existingNames.get(nameKey(name));
+                if (stored != null) {
+                    updates.add(new Object[] {
+                            row.getDescription(), row.getPrice(), row.getDailyStock(), row.getImageUrl(), shopId, stored });
+                    report.setUpdated(report.getUpdated() + 1);
+                } else {
+                    inserts.add(new Object[] {
+                            shopId, name, row.getDescription(), row.getPrice(), row.getDailyStock(), row.getImageUrl() });
+                    existingNames.put(nameKey(name), name);
+                    report.setInserted(report.getInserted() + 1);
+                }
+
+                if (inserts.size() + updates.size() >= batchSize) {
+                    flush(inserts, updates);
+                }
+            }
+            flush(inserts, updates);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (report.getInserted() + report.getUpdated() > 0) {
+            // The batch updates bypass Hibernate, so cached items of this shop would keep their old values
+            entityCacheEvictor.evictAfterCommit(MenuItem.class,
+                    jdbcTemplate.queryForList("SELECT id FROM menu_items WHERE shop_id = ?", Long.class, shopId));
+            menuResponseCache.invalidate(shopId);
+            menuPriceService.menuChanged(shopId);
+            AfterCommit.run(() -> shopListingService.refreshShop(shopId));
+            AfterCommit.run(() -> searchService.reindexShopItems(shopId));
+            AfterCommit.run(() -> stockService.reloadShop(shopId));
+        }
+        return report;
+    }
+
+    public void exportMenu(Long ownerId, String format, boolean includeImages, OutputStream out) {
+        Shop shop = shopRepository.findByOwnerId(ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
+
+        // Dedicated template so the fetch size applies only to this forward-only cursor
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(exportFetchSize);
+
+        String columns = includeImages ? "name, description, price, daily_stock, image_url" : "name, description, price, daily_stock";
+        boolean csv = CSV.equals(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (csv) {
+                writer.write(includeImages ? CSV_HEADER : CSV_HEADER.substring(0, CSV_HEADER.lastIndexOf(',')));
+                writer.write('\n');
+            }
+            cursor.query("SELECT " + columns + " FROM menu_items WHERE shop_id = ? ORDER BY id", rs -> {
+                MenuItemDTO row = new MenuItemDTO(
+                        rs.getString(1),
+                        rs.getString(2),
+                        rs.getBigDecimal(3),
+                        includeImages ? rs.getString(5) : null,
+                        rs.getObject(4, Integer.class));
+                try {
+                    if (csv) {
+                        writer.write(Csv.escape(row.getName()));
+                        writer.write(',');
+                        writer.write(Csv.escape(row.getDescription()));
+                        writer.write(',');
+                        writer.write(Csv.escape(row.getPrice()));
+                        writer.write(',');
+                        writer.write(Csv.escape(row.getDailyStock()));
+                        if (includeImages) {
+                            writer.write(',');
+                            writer.write(Csv.escape(row.getImageUrl()));
+                        }
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                    }
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, shop.getId());
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String resolveFormat(String format, String contentType) {
+        String resolved = format;
+        if (resolved == null && contentType != null) {
+            resolved = contentType.contains("csv") ? CSV : contentType.contains("ndjson") ? NDJSON : null;
+        }
+        if (resolved == null) {
+            return CSV;
+        }
+        resolved = resolved.toLowerCase(Locale.ROOT);
+        if (!CSV.equals(resolved) && !NDJSON.equals(resolved)) {
+            throw new BusinessRuleException("Unsupported format '" + format + "', expected csv or ndjson");
+        }
+        return resolved;
+    }
+
+    private MenuItemDTO parseCsvRow(List<String> header, String line) {
+        List<String> fields = Csv.parseLine(line);
+        MenuItemDTO row = new MenuItemDTO();
+        for (int i = 0; i < header.size() && i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header.get(i)) {
+                case "name" -> row.setName(value);
+                case "description" -> row.setDescription(value);
+                case "price" -> row.setPrice(parseNumber(value, "price"));
+                case "dailystock" -> row.setDailyStock(parseNumber(value, "dailyStock").intValueExact());
+                case "imageurl" -> row.setImageUrl(value);
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return row;
+    }
+
+    private static BigDecimal parseNumber(String value, String column) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number");
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void flush(List<Object[]> inserts, List<Object[]> updates) {
+        // Inserts first, so a name inserted and then repeated within the same batch is updated afterwards
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+            inserts.clear();
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            updates.clear();
+        }
+    }
+
+    private static void reject(ImportReportDTO report, long line, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportReportDTO.RowErrorDTO(line, message));
+        }
+    }
+}
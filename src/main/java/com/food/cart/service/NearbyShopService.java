@@ -0,0 +1,85 @@
+package com.food.cart.service;
+
+import com.food.cart.dto.NearbyShopDTO;
+import com.food.cart.exception.BusinessRuleException;
+import com.food.cart.geo.GeoGridIndex;
+import com.food.cart.model.Shop;
+import com.food.cart.repository.ShopRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class NearbyShopService {
+
+    private static final double MAX_RADIUS_KM = 50;
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    private final GeoGridIndex index;
+
+    public NearbyShopService(@Value("${geo.cell-degrees:0.02}") double cellDegrees) {
+        this.index = new GeoGridIndex(cellDegrees);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        for (Object[] row : shopRepository.findLocations()) {
+            index.put(((Number) row[0]).longValue(), (Double) row[1], (Double) row[2]);
+        }
+    }
+
+    public void indexShop(Shop shop) {
+        if (shop.getLatitude() != null && shop.getLongitude() != null) {
+            index.put(shop.getId(), shop.getLatitude(), shop.getLongitude());
+        } else {
+            index.remove(shop.getId());
+        }
+    }
+
+    public List<NearbyShopDTO> findNearby(double lat, double lon, double radiusKm, int limit) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new BusinessRuleException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new BusinessRuleException("Radius must be greater than 0 and at most " + (int) MAX_RADIUS_KM + " km");
+        }
+
+        List<GeoGridIndex.Neighbor> neighbors = index.nearest(lat, lon, radiusKm, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        if (neighbors.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Shop> shops = shopRepository.findAllById(
+                        neighbors.stream().map(GeoGridIndex.Neighbor::id).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Shop::getId, Function.identity()));
+
+        List<NearbyShopDTO> result = new ArrayList<>(neighbors.size());
+        for (GeoGridIndex.Neighbor neighbor : neighbors) {
+            Shop shop = shops.get(neighbor.id());
+            if (shop != null) {
+                result.add(new NearbyShopDTO(
+                        shop.getId(),
+                        shop.getShopName(),
+                        shop.getDescription(),
+                        shop.getAddress(),
+                        shop.getImageUrl(),
+                        shop.getLatitude(),
+                        shop.getLongitude(),
+                        neighbor.distanceKm()));
+            }
+        }
+        return result;
+    }
+}
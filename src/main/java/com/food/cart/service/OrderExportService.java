@@ -0,0 +1,196 @@
+package com.food.cart.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.exception.BusinessRuleException;
+import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.model.Shop;
+import com.food.cart.repository.ShopRepository;
+import com.food.cart.util.Csv;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER =
+            "orderId,createdAt,status,customer,orderTotal,menuItemId,itemName,quantity,priceAtOrder,lineTotal";
+
+    // One row per item line, ordered so each order's lines are adjacent and the
+    // (shop_id, created_at) index delivers rows without a sort
+    private static final String SELECT_SQL =
+            "SELECT o.id, o.created_at, o.status, u.username, o.total_amount, "
+                    + "oi.menu_item_id, m.name, oi.quantity, oi.price_at_order "
+                    + "FROM orders o "
+                    + "JOIN users u ON u.id = o.customer_id "
+                    + "LEFT JOIN order_items oi ON oi.order_id = o.id "
+                    + "LEFT JOIN menu_items m ON m.id = oi.menu_item_id "
+                    + "WHERE o.shop_id = ?";
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:500}")
+    private int exportFetchSize;
+
+    public void exportOrders(Long ownerId, LocalDate from, LocalDate to, String format, OutputStream out) {
+        validateRange(from, to);
+        Shop shop = shopRepository.findByOwnerId(ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(shop.getId());
+        if (from != null) {
+            sql.append(" AND o.created_at >= ?");
+            args.add(Timestamp.valueOf(from.atStartOfDay()));
+        }
+        if (to != null) {
+            // 'to' is inclusive
+            sql.append(" AND o.created_at < ?");
+            args.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY o.created_at, o.id, oi.id");
+
+        // Dedicated template so the fetch size applies only to this forward-only cursor
+        JdbcTemplate cursor = new JdbcTemplate(dataSource);
+        cursor.setFetchSize(exportFetchSize);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (MenuTransferService.CSV.equals(format)) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                RowCallbackHandler csvLine = rs -> writeCsvLine(rs, writer);
+                cursor.query(sql.toString(), csvLine, args.toArray());
+            } else {
+                NdjsonOrderWriter ndjson = new NdjsonOrderWriter(writer);
+                cursor.query(sql.toString(), ndjson, args.toArray());
+                ndjson.finish();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Called before the response starts streaming, while an error can still become a 400
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessRuleException("'from' must not be after 'to'");
+        }
+    }
+
+    private static void writeCsvLine(ResultSet rs, Writer writer) throws SQLException {
+        Integer quantity = rs.getObject(8, Integer.class);
+        BigDecimal price = rs.getBigDecimal(9);
+        try {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writer.write(rs.getTimestamp(2).toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(rs.getString(3));
+            writer.write(',');
+            writer.write(Csv.escape(rs.getString(4)));
+            writer.write(',');
+            writer.write(Csv.escape(rs.getBigDecimal(5)));
+            writer.write(',');
+            writer.write(Csv.escape(rs.getObject(6, Long.class)));
+            writer.write(',');
+            writer.write(Csv.escape(rs.getString(7)));
+            writer.write(',');
+            writer.write(Csv.escape(quantity));
+            writer.write(',');
+            writer.write(Csv.escape(price));
+            writer.write(',');
+            writer.write(Csv.escape(quantity == null || price == null ? null : price.multiply(BigDecimal.valueOf(quantity))));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Writes one JSON object per order, nesting its item lines as they arrive. Only the order
+    // currently being written is open, so memory does not grow with the export.
+    private class NdjsonOrderWriter implements RowCallbackHandler {
+
+        private final Writer writer;
+        private final JsonGenerator json;
+        private long currentOrderId = -1;
+
+        NdjsonOrderWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long orderId = rs.getLong(1);
+                if (orderId != currentOrderId) {
+                    closeOrder();
+                    currentOrderId = orderId;
+                    json.writeStartObject();
+                    json.writeNumberField("orderId", orderId);
+                    json.writeStringField("createdAt", rs.getTimestamp(2).toLocalDateTime().toString());
+                    json.writeStringField("status", rs.getString(3));
+                    json.writeStringField("customer", rs.getString(4));
+                    json.writeNumberField("totalAmount", rs.getBigDecimal(5));
+                    json.writeArrayFieldStart("items");
+                }
+                Long menuItemId = rs.getObject(6, Long.class);
+                if (menuItemId != null) {
+                    json.writeStartObject();
+                    json.writeNumberField("menuItemId", menuItemId);
+                    json.writeStringField("name", rs.getString(7));
+                    json.writeNumberField("quantity", rs.getInt(8));
+                    json.writeNumberField("priceAtOrder", rs.getBigDecimal(9));
+                    json.writeEndObject();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            closeOrder();
+            json.flush();
+        }
+
+        private void closeOrder() throws IOException {
+            if (currentOrderId < 0) {
+                return;
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        }
+    }
+}
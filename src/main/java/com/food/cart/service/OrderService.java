@@ -1,17 +1,24 @@
 package com.food.cart.service;
 
+import com.food.cart.cache.AfterCommit;
 import com.food.cart.dto.OrderDTO;
 import com.food.cart.dto.OrderItemDTO;
 import com.food.cart.exception.BusinessRuleException;
 import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.jfr.OrderPlacementEvent;
+import com.food.cart.metrics.HotPathMetrics;
 import com.food.cart.model.*;
+import com.food.cart.pricing.MenuPriceSnapshot;
 import com.food.cart.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,63 +39,136 @@ public class OrderService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private ShopListingService shopListingService;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @Autowired
+    private HotPathMetrics hotPathMetrics;
+
     @Transactional
     public void placeOrder(Long userId) {
+        OrderPlacementEvent event = new OrderPlacementEvent();
+        event.outcome = "failed";
+        event.begin();
+        try {
+            hotPathMetrics.timeTransaction("checkout.place", () -> place(userId, event));
+        } finally {
+            event.commit();
+        }
+    }
+
+    private void place(Long userId, OrderPlacementEvent event) {
         Cart cart = cartRepository.findByUserId(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart not found for user"));
 
         List<CartItem> cartItems = cartItemRepository.findByCartId(cart.getId());
 
         if (cartItems.isEmpty()) {
+            hotPathMetrics.rejected("checkout.place", "empty_cart");
             throw new BusinessRuleException("Cannot place order with empty cart");
         }
 
         if (cart.getShopId() == null) {
             throw new BusinessRuleException("Cart has no shop associated");
         }
+        event.shopId = cart.getShopId();
+        event.lines = cartItems.size();
+
+        // Reprice from the current menu snapshot. When the menu changed since the cart was priced,
+        // re-validate that every line is still on the menu; either way the order total and
+        // priceAtOrder come from the same version.
+        MenuPriceSnapshot prices = menuPriceService.current(cart.getShopId());
+        boolean menuChanged = cart.getMenuVersion() == null || cart.getMenuVersion() != prices.getVersion();
+        long total = 0;
+        for (CartItem cartItem : cartItems) {
+            long price = prices.priceMinor(cartItem.getMenuItemId());
+            if (price < 0) {
+                if (menuChanged) {
+                    hotPathMetrics.rejected("checkout.place", "menu_changed");
+                    throw new BusinessRuleException("An item in your cart is no longer on the menu");
+                }
+                throw new ResourceNotFoundException("Menu item not found");
+            }
+            total += price * cartItem.getQuantity();
+        }
+
+        // Reserve stock for all lines at once; nothing is taken if any item is sold out
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (CartItem cartItem : cartItems) {
+            quantities.merge(cartItem.getMenuItemId(), cartItem.getQuantity(), Integer::sum);
+            event.items += cartItem.getQuantity();
+        }
+        Long soldOut = stockService.reserve(quantities);
+        if (soldOut != null) {
+            hotPathMetrics.rejected("checkout.place", "sold_out");
+            String name = menuItemRepository.findById(soldOut).map(MenuItem::getName).orElse("An item");
+            throw new BusinessRuleException(name + " is sold out or has too little stock left for this order");
+        }
 
         // Create order
         Order order = new Order();
         order.setCustomerId(userId);
         order.setShopId(cart.getShopId());
-        order.setTotalAmount(cart.getTotalAmount());
+        order.setTotalAmount(MenuPriceSnapshot.toAmount(total));
         order.setStatus(OrderStatus.PENDING);
         order = orderRepository.save(order);
 
         // Create order items from cart items
         for (CartItem cartItem : cartItems) {
-            MenuItem menuItem = menuItemRepository.findById(cartItem.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
-
             OrderItem orderItem = new OrderItem();
             orderItem.setOrderId(order.getId());
             orderItem.setMenuItemId(cartItem.getMenuItemId());
             orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setPriceAtOrder(menuItem.getPrice());
+            orderItem.setPriceAtOrder(prices.price(cartItem.getMenuItemId()));
             orderItemRepository.save(orderItem);
         }
 
+        Long shopId = order.getShopId();
+        AfterCommit.run(() -> shopListingService.recordOrderPlaced(shopId));
+
         // Clear cart
         cartItemRepository.deleteAll(cartItems);
         cart.setShopId(null);
         cart.setTotalAmount(BigDecimal.ZERO);
+        cart.setMenuVersion(null);
         cartRepository.save(cart);
+        event.outcome = "placed";
     }
 
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrderHistory(Long userId) {
+        // Shop and customer come with the orders (entity graph); items for all orders in one query
         List<Order> orders = orderRepository.findByCustomerId(userId);
+        Map<Long, List<OrderItemDTO>> items = findItemsByOrderId(orders);
 
         return orders.stream()
-                .map(this::convertToOrderDTO)
+                .map(order -> convertToOrderDTO(order, items.getOrDefault(order.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
-    private OrderDTO convertToOrderDTO(Order order) {
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-        List<OrderItemDTO> itemDTOs = orderItems.stream()
-                .map(this::convertToOrderItemDTO)
-                .collect(Collectors.toList());
+    private Map<Long, List<OrderItemDTO>> findItemsByOrderId(List<Order> orders) {
+        Map<Long, List<OrderItemDTO>> items = new HashMap<>();
+        if (orders.isEmpty()) {
+            return items;
+        }
+        List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+        for (Object[] row : orderItemRepository.findSummariesByOrderIdIn(orderIds)) {
+            items.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(new OrderItemDTO(
+                    (Long) row[1],
+                    (String) row[2],
+                    (Integer) row[3],
+                    (BigDecimal) row[4]));
+        }
+        return items;
+    }
 
+    private OrderDTO convertToOrderDTO(Order order, List<OrderItemDTO> itemDTOs) {
         String shopName = null;
         if (order.getShop() != null) {
             shopName = order.getShop().getShopName();
@@ -109,15 +189,4 @@ public class OrderService {
                 order.getCreatedAt(),
                 itemDTOs);
     }
-
-    private OrderItemDTO convertToOrderItemDTO(OrderItem orderItem) {
-        MenuItem menuItem = menuItemRepository.findById(orderItem.getMenuItemId())
-                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
-
-        return new OrderItemDTO(
-                orderItem.getId(),
-                menuItem.getName(),
-                orderItem.getQuantity(),
-                orderItem.getPriceAtOrder());
-    }
 }
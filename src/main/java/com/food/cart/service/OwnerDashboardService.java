@@ -0,0 +1,118 @@
+package com.food.cart.service;
+
+import com.food.cart.dto.DashboardStatsDTO;
+import com.food.cart.dto.MenuItemResponseDTO;
+import com.food.cart.dto.OrderDTO;
+import com.food.cart.dto.OwnerDashboardDTO;
+import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.model.Shop;
+import com.food.cart.repository.ShopRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class OwnerDashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerDashboardService.class);
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private ShopService shopService;
+
+    @Autowired
+    private OwnerStatisticsService ownerStatisticsService;
+
+    @Autowired
+    private OwnerOrderService ownerOrderService;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private AsyncTaskExecutor dashboardExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    public OwnerDashboardDTO getDashboard(Long ownerId) {
+        Shop shop = shopRepository.findByOwnerId(ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
+        Long shopId = shop.getId();
+
+        // All sections share one deadline so the response never waits longer than a single timeout
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        Future<DashboardStatsDTO> stats = submit(() -> ownerStatisticsService.getShopStats(shopId), deadline);
+        Future<List<MenuItemResponseDTO>> menu = submit(() -> shopService.getMenuItems(shopId), deadline);
+        Future<List<OrderDTO>> orders = submit(() -> ownerOrderService.getOrdersForShop(shopId), deadline);
+
+        OwnerDashboardDTO dashboard = new OwnerDashboardDTO();
+        dashboard.setShop(shopService.convertToShopDTO(shop));
+
+        dashboard.setStats(await("stats", stats, deadline, dashboard));
+        dashboard.setMenuItems(await("menu", menu, deadline, dashboard));
+        dashboard.setOrders(await("orders", orders, deadline, dashboard));
+
+        return dashboard;
+    }
+
+    // Submitted as a task rather than through CompletableFuture so that cancel(true) interrupts the
+    // worker. Blocking JDBC ignores interrupts, so the transaction timeout is what actually stops a
+    // slow query: it is set from the time left when the section starts and becomes the statement
+    // query timeout.
+    private <T> Future<T> submit(Supplier<T> section, long deadline) {
+        try {
+            // Each section runs in its own read-only transaction so lazy associations resolve off the request thread
+            return dashboardExecutor.submit(() -> {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("Deadline passed before the section started");
+                }
+                TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+                readOnly.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L)));
+                return readOnly.execute(status -> section.get());
+            });
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T await(String name, Future<T> future, long deadline, OwnerDashboardDTO dashboard) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Dashboard section '{}' timed out after {} ms", name, sectionTimeoutMs);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                log.warn("Dashboard section '{}' timed out after {} ms", name, sectionTimeoutMs);
+            } else {
+                log.warn("Dashboard section '{}' failed", name, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dashboard.getUnavailableSections().add(name);
+        return null;
+    }
+}
@@ -1,11 +1,12 @@
 package com.food.cart.service;
 
+import com.food.cart.cache.AfterCommit;
 import com.food.cart.dto.OrderDTO;
 import com.food.cart.dto.OrderItemDTO;
 import com.food.cart.exception.ForbiddenException;
 import com.food.cart.exception.ResourceNotFoundException;
+import com.food.cart.metrics.HotPathMetrics;
 import com.food.cart.model.*;
-import com.food.cart.repository.MenuItemRepository;
 import com.food.cart.repository.OrderItemRepository;
 import com.food.cart.repository.OrderRepository;
 import com.food.cart.repository.ShopRepository;
@@ -13,7 +14,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,21 +35,38 @@ public class OwnerOrderService {
         private ShopRepository shopRepository;
 
         @Autowired
-        private MenuItemRepository menuItemRepository;
+        private ShopListingService shopListingService;
+
+        @Autowired
+        private StockService stockService;
+
+        @Autowired
+        private HotPathMetrics hotPathMetrics;
 
         public List<OrderDTO> getShopOrders(Long ownerId) {
                 Shop shop = shopRepository.findByOwnerId(ownerId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
 
-                List<Order> orders = orderRepository.findByShopId(shop.getId());
+                return getOrdersForShop(shop.getId());
+        }
+
+        @Transactional(readOnly = true)
+        public List<OrderDTO> getOrdersForShop(Long shopId) {
+                // Shop and customer come with the orders (entity graph); items for all orders in one query
+                List<Order> orders = orderRepository.findByShopId(shopId);
+                Map<Long, List<OrderItemDTO>> items = findItemsByOrderId(orders);
 
                 return orders.stream()
-                                .map(this::convertToOrderDTO)
+                                .map(order -> convertToOrderDTO(order, items.getOrDefault(order.getId(), List.of())))
                                 .collect(Collectors.toList());
         }
 
         @Transactional
         public void updateOrderStatus(Long ownerId, Long orderId, OrderStatus status) {
+                hotPathMetrics.timeTransaction("order.status_update", () -> updateStatus(ownerId, orderId, status));
+        }
+
+        private void updateStatus(Long ownerId, Long orderId, OrderStatus status) {
                 Shop shop = shopRepository.findByOwnerId(ownerId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
 
@@ -54,16 +77,36 @@ public class OwnerOrderService {
                         throw new ForbiddenException("You can only update orders from your own shop");
                 }
 
+                OrderStatus previous = order.getStatus();
                 order.setStatus(status);
                 orderRepository.save(order);
+                AfterCommit.run(() -> shopListingService.recordStatusChange(shop.getId(), previous, status));
+
+                // Cancelling an open order puts its quantities back on sale
+                if (status == OrderStatus.CANCELLED && previous.isActive()) {
+                        Long cancelledId = order.getId();
+                        LocalDateTime placedAt = order.getCreatedAt();
+                        AfterCommit.run(() -> stockService.releaseOrder(cancelledId, placedAt));
+                }
         }
 
-        private OrderDTO convertToOrderDTO(Order order) {
-                List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-                List<OrderItemDTO> itemDTOs = orderItems.stream()
-                                .map(this::convertToOrderItemDTO)
-                                .collect(Collectors.toList());
+        private Map<Long, List<OrderItemDTO>> findItemsByOrderId(List<Order> orders) {
+                Map<Long, List<OrderItemDTO>> items = new HashMap<>();
+                if (orders.isEmpty()) {
+                        return items;
+                }
+                List<Long> orderIds = orders.stream().map(Order::getId).collect(Collectors.toList());
+                for (Object[] row : orderItemRepository.findSummariesByOrderIdIn(orderIds)) {
+                        items.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(new OrderItemDTO(
+                                        (Long) row[1],
+                                        (String) row[2],
+                                        (Integer) row[3],
+                                        (BigDecimal) row[4]));
+                }
+                return items;
+        }
 
+        private OrderDTO convertToOrderDTO(Order order, List<OrderItemDTO> itemDTOs) {
                 String shopName = null;
                 if (order.getShop() != null) {
                         shopName = order.getShop().getShopName();
@@ -84,15 +127,4 @@ public class OwnerOrderService {
                                 order.getCreatedAt(),
                                 itemDTOs);
         }
-
-        private OrderItemDTO convertToOrderItemDTO(OrderItem orderItem) {
-                MenuItem menuItem = menuItemRepository.findById(orderItem.getMenuItemId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
-
-                return new OrderItemDTO(
-                                orderItem.getId(),
-                                menuItem.getName(),
-                                orderItem.getQuantity(),
-                                orderItem.getPriceAtOrder());
-        }
 }
@@ -3,9 +3,8 @@ package com.food.cart.service;
 import com.food.cart.dto.DashboardStatsDTO;
 import com.food.cart.dto.TopItemDTO;
 import com.food.cart.exception.ResourceNotFoundException;
-import com.food.cart.model.MenuItem;
+import com.food.cart.jfr.StatsComputationEvent;
 import com.food.cart.model.Shop;
-import com.food.cart.repository.MenuItemRepository;
 import com.food.cart.repository.OrderRepository;
 import com.food.cart.repository.ShopRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,14 +23,16 @@ public class OwnerStatisticsService {
     @Autowired
     private ShopRepository shopRepository;
     
-    @Autowired
-    private MenuItemRepository menuItemRepository;
-    
     public DashboardStatsDTO getDashboardStats(Long ownerId) {
         Shop shop = shopRepository.findByOwnerId(ownerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Shop not found for owner"));
         
-        Long shopId = shop.getId();
+        return getShopStats(shop.getId());
+    }
+    
+    public DashboardStatsDTO getShopStats(Long shopId) {
+        StatsComputationEvent event = new StatsComputationEvent();
+        event.begin();
         
         // Calculate total revenue
         BigDecimal totalRevenue = orderRepository.calculateTotalRevenue(shopId);
@@ -51,20 +52,19 @@ public class OwnerStatisticsService {
         
         for (Object[] data : topSellingData) {
             Long menuItemId = ((Number) data[0]).longValue();
-            Long totalQuantity = ((Number) data[1]).longValue();
-            
-            MenuItem menuItem = menuItemRepository.findById(menuItemId)
-                    .orElse(null);
+            Long totalQuantity = ((Number) data[2]).longValue();
             
-            if (menuItem != null) {
-                topSellingItems.add(new TopItemDTO(
-                        menuItemId,
-                        menuItem.getName(),
-                        totalQuantity
-                ));
-            }
+            topSellingItems.add(new TopItemDTO(
+                    menuItemId,
+                    (String) data[1],
+                    totalQuantity
+            ));
         }
         
+        event.shopId = shopId;
+        event.topItems = topSellingItems.size();
+        event.commit();
+        
         return new DashboardStatsDTO(totalRevenue, pendingOrdersCount, topSellingItems);
     }
 }
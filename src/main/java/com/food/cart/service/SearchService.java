@@ -0,0 +1,104 @@
+package com.food.cart.service;
+
+import com.food.cart.dto.SearchResultDTO;
+import com.food.cart.model.MenuItem;
+import com.food.cart.model.Shop;
+import com.food.cart.repository.MenuItemRepository;
+import com.food.cart.repository.ShopRepository;
+import com.food.cart.search.SearchIndex;
+import com.food.cart.search.SearchIndex.Doc;
+import com.food.cart.search.SearchIndex.DocType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchService {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        List<Doc> docs = new ArrayList<>();
+        for (Shop shop : shopRepository.findAll()) {
+            docs.add(toDoc(shop));
+        }
+        // Only the searchable columns, so the image payloads are never loaded
+        for (Object[] row : menuItemRepository.findSearchFields()) {
+            docs.add(toDoc(row));
+        }
+        index.replaceAll(docs);
+    }
+
+    public void reindexShopItems(Long shopId) {
+        for (Object[] row : menuItemRepository.findSearchFieldsByShopId(shopId)) {
+            index.put(toDoc(row));
+        }
+    }
+
+    public List<SearchResultDTO> search(String query, int limit) {
+        return index.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT)).stream()
+                .map(this::convertToSearchResultDTO)
+                .collect(Collectors.toList());
+    }
+
+    public void indexShop(Shop shop) {
+        index.put(toDoc(shop));
+    }
+
+    public void indexMenuItem(MenuItem item) {
+        index.put(new Doc(
+                DocType.MENU_ITEM,
+                item.getId(),
+                item.getShopId(),
+                item.getName(),
+                item.getDescription(),
+                item.getPrice()));
+    }
+
+    public void removeMenuItem(Long itemId) {
+        index.remove(DocType.MENU_ITEM, itemId);
+    }
+
+    private Doc toDoc(Object[] row) {
+        return new Doc(
+                DocType.MENU_ITEM,
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                (String) row[2],
+                (String) row[3],
+                (BigDecimal) row[4]);
+    }
+
+    private Doc toDoc(Shop shop) {
+        return new Doc(DocType.SHOP, shop.getId(), shop.getId(), shop.getShopName(), shop.getDescription(), null);
+    }
+
+    private SearchResultDTO convertToSearchResultDTO(SearchIndex.Hit hit) {
+        Doc doc = hit.doc();
+        return new SearchResultDTO(
+                doc.type().name(),
+                doc.id(),
+                doc.shopId(),
+                doc.name(),
+                doc.description(),
+                doc.price(),
+                hit.score());
+    }
+}
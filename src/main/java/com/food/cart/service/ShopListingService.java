@@ -0,0 +1,163 @@
+package com.food.cart.service;
+
+import com.food.cart.dto.ShopListingDTO;
+import com.food.cart.exception.BusinessRuleException;
+import com.food.cart.model.OrderStatus;
+import com.food.cart.model.Shop;
+import com.food.cart.model.ShopListing;
+import com.food.cart.repository.MenuItemRepository;
+import com.food.cart.repository.MenuSummary;
+import com.food.cart.repository.OrderRepository;
+import com.food.cart.repository.ShopListingRepository;
+import com.food.cart.repository.ShopRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ShopListingService {
+
+    private static final Set<OrderStatus> ACTIVE_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(OrderStatus::isActive)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(OrderStatus.class)));
+
+    private static final int POPULAR_ITEM_LIMIT = 3;
+
+    @Autowired
+    private ShopListingRepository shopListingRepository;
+
+    @Autowired
+    private ShopRepository shopRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${shop-listing.busy-threshold:10}")
+    private int busyThreshold;
+
+    @Transactional(readOnly = true)
+    public List<ShopListingDTO> search(String sort, BigDecimal maxPrice, boolean notBusy) {
+        Sort order;
+        int minItems = 0;
+        if (sort == null || sort.isBlank()) {
+            order = Sort.by("shopId");
+        } else {
+            switch (sort) {
+                case "cheapest" -> {
+                    order = Sort.by(Sort.Order.asc("minPrice"), Sort.Order.asc("shopId"));
+                    // Shops without a menu have no price to rank by
+                    minItems = 1;
+                }
+                case "popular" -> order = Sort.by(Sort.Order.desc("orderCount"), Sort.Order.asc("shopId"));
+                case "least_busy" -> order = Sort.by(Sort.Order.asc("activeOrderCount"), Sort.Order.asc("shopId"));
+                default -> throw new BusinessRuleException(
+                        "Unknown sort '" + sort + "', expected cheapest, popular or least_busy");
+            }
+        }
+
+        Integer maxActiveOrders = notBusy ? busyThreshold : null;
+        return shopListingRepository.search(minItems, maxPrice, maxActiveOrders, order).stream()
+                .map(this::convertToShopListingDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void refreshShop(Long shopId) {
+        shopRepository.findById(shopId).ifPresent(this::rebuild);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordOrderPlaced(Long shopId) {
+        if (shopListingRepository.recordOrderPlaced(shopId) == 0) {
+            shopRepository.findById(shopId).ifPresent(this::rebuild);
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void recordStatusChange(Long shopId, OrderStatus from, OrderStatus to) {
+        int delta = (to.isActive() ? 1 : 0) - (from.isActive() ? 1 : 0);
+        if (delta != 0) {
+            shopListingRepository.adjustActiveOrders(shopId, delta);
+        }
+    }
+
+    // Periodic full rebuild reconciles the incremental counters and refreshes popular items. Each
+    // shop is rebuilt in its own short transaction, so row locks are held for one shop at a time
+    // and a listing is never written from counts taken minutes earlier.
+    @Scheduled(initialDelayString = "${shop-listing.initial-delay-ms:0}",
+            fixedDelayString = "${shop-listing.rebuild-interval-ms:300000}")
+    public void rebuildAll() {
+        TransactionTemplate perShop = new TransactionTemplate(transactionManager);
+        perShop.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Long shopId : shopRepository.findAllIds()) {
+            perShop.executeWithoutResult(status -> shopRepository.findById(shopId).ifPresent(this::rebuild));
+        }
+    }
+
+    private void rebuild(Shop shop) {
+        Long shopId = shop.getId();
+        MenuSummary menu = menuItemRepository.summarizeByShopId(shopId);
+
+        ShopListing listing = shopListingRepository.findById(shopId).orElseGet(ShopListing::new);
+        listing.setShopId(shopId);
+        listing.setShopName(shop.getShopName());
+        listing.setDescription(shop.getDescription());
+        listing.setAddress(shop.getAddress());
+        listing.setImageUrl(shop.getImageUrl());
+        listing.setItemCount(menu.getItemCount().intValue());
+        listing.setMinPrice(menu.getMinPrice());
+        listing.setMaxPrice(menu.getMaxPrice());
+        listing.setPopularItems(findPopularItems(shopId));
+        shopListingRepository.saveAndFlush(listing);
+        shopListingRepository.recountOrders(shopId, ACTIVE_STATUSES);
+    }
+
+    private String findPopularItems(Long shopId) {
+        List<String> names = orderRepository.findTopSellingItems(shopId).stream()
+                .limit(POPULAR_ITEM_LIMIT)
+                .map(row -> ((String) row[1]).replace(",", " "))
+                .collect(Collectors.toList());
+        return names.isEmpty() ? null : String.join(",", names);
+    }
+
+    private ShopListingDTO convertToShopListingDTO(ShopListing listing) {
+        List<String> popularItems = listing.getPopularItems() == null
+                ? Collections.emptyList()
+                : Arrays.asList(listing.getPopularItems().split(","));
+
+        return new ShopListingDTO(
+                listing.getShopId(),
+                listing.getShopName(),
+                listing.getDescription(),
+                listing.getAddress(),
+                listing.getImageUrl(),
+                listing.getItemCount(),
+                listing.getMinPrice(),
+                listing.getMaxPrice(),
+                listing.getOrderCount(),
+                listing.getActiveOrderCount(),
+                listing.getActiveOrderCount() >= busyThreshold,
+                popularItems);
+    }
+}
@@ -1,5 +1,9 @@
 package com.food.cart.service;
 
+import com.food.cart.cache.AfterCommit;
+import com.food.cart.cache.CachedResponse;
+import com.food.cart.cache.MenuResponseCache;
+import com.food.cart.cache.ShopCatalogCache;
 import com.food.cart.dto.MenuItemResponseDTO;
 import com.food.cart.dto.ShopDTO;
 import com.food.cart.dto.UpdateShopDTO;
@@ -12,7 +16,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,29 @@ public class ShopService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private ShopCatalogCache shopCatalogCache;
+
+    @Autowired
+    private MenuResponseCache menuResponseCache;
+
+    @Autowired
+    private ShopListingService shopListingService;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private NearbyShopService nearbyShopService;
+
+    public CachedResponse getShopCatalog() {
+        return shopCatalogCache.get(this::getAllShops);
+    }
+
+    public CachedResponse getShopMenuResponse(Long shopId) {
+        return menuResponseCache.get(shopId, () -> getShopMenu(shopId));
+    }
+
     public List<ShopDTO> getAllShops() {
         return shopRepository.findAll().stream()
                 .map(this::convertToShopDTO)
@@ -35,8 +64,16 @@ public class ShopService {
             throw new ResourceNotFoundException("Shop not found with id: " + shopId);
         }
 
+        return getMenuItems(shopId);
+    }
+
+    public List<MenuItemResponseDTO> getMenuItems(Long shopId) {
+        Map<Long, String> images = new HashMap<>();
+        for (Object[] row : menuItemRepository.findImagesByShopId(shopId)) {
+            images.put((Long) row[0], (String) row[1]);
+        }
         return menuItemRepository.findByShopId(shopId).stream()
-                .map(this::convertToMenuItemResponseDTO)
+                .map(item -> convertToMenuItemResponseDTO(item, images.get(item.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -54,7 +91,17 @@ public class ShopService {
             shop.setImageUrl(dto.getImageUrl());
         }
 
+        // Update location only when both coordinates are provided
+        if (dto.getLatitude() != null && dto.getLongitude() != null) {
+            shop.setLatitude(dto.getLatitude());
+            shop.setLongitude(dto.getLongitude());
+        }
+
         shopRepository.save(shop);
+        shopCatalogCache.invalidate();
+        AfterCommit.run(() -> shopListingService.refreshShop(shop.getId()));
+        AfterCommit.run(() -> searchService.indexShop(shop));
+        AfterCommit.run(() -> nearbyShopService.indexShop(shop));
     }
 
     public ShopDTO getOwnerShop(Long ownerId) {
@@ -63,21 +110,24 @@ public class ShopService {
         return convertToShopDTO(shop);
     }
 
-    private ShopDTO convertToShopDTO(Shop shop) {
+    public ShopDTO convertToShopDTO(Shop shop) {
         return new ShopDTO(
                 shop.getId(),
                 shop.getShopName(),
                 shop.getDescription(),
                 shop.getAddress(),
-                shop.getImageUrl());
+                shop.getImageUrl(),
+                shop.getLatitude(),
+                shop.getLongitude());
     }
 
-    private MenuItemResponseDTO convertToMenuItemResponseDTO(MenuItem item) {
+    private MenuItemResponseDTO convertToMenuItemResponseDTO(MenuItem item, String imageUrl) {
         return new MenuItemResponseDTO(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.getPrice(),
-                item.getImageUrl());
+                imageUrl,
+                item.getDailyStock());
     }
 }
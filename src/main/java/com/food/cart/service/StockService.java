@@ -0,0 +1,243 @@
+package com.food.cart.service;
+
+import com.food.cart.cache.AfterCommit;
+import com.food.cart.cache.EntityCacheEvictor;
+import com.food.cart.model.MenuItem;
+import com.food.cart.model.OrderItem;
+import com.food.cart.repository.MenuItemRepository;
+import com.food.cart.repository.OrderItemRepository;
+import com.food.cart.stock.StockCounters;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class StockService {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityCacheEvictor entityCacheEvictor;
+
+    private volatile Generation current = new Generation(LocalDate.now());
+
+    // Counters seeded from the persisted snapshot, until reconcile() has corrected them from the orders
+    private Map<Long, Integer> restored = Map.of();
+
+    // Seeds today's counters from the last snapshot, so checkouts that arrive before the application
+    // reports ready are already limited
+    @PostConstruct
+    public void restore() {
+        Generation generation = current;
+        Map<Long, Integer> seeded = new HashMap<>();
+        for (Object[] row : menuItemRepository.findStockSnapshots(generation.day)) {
+            Long itemId = ((Number) row[0]).longValue();
+            int remaining = ((Number) row[2]).intValue();
+            generation.counters.set(itemId, remaining);
+            generation.limits.put(itemId, ((Number) row[1]).intValue());
+            seeded.put(itemId, remaining);
+        }
+        restored = seeded;
+    }
+
+    // Corrects the counters from today's orders, which stay authoritative if the last snapshot was lost
+    // or is stale. Seeded counters move by the difference, so reservations taken since are kept.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconcile() {
+        Generation generation = current;
+        Map<Long, Long> sold = soldSince(generation.day.atStartOfDay());
+        for (Object[] row : menuItemRepository.findStockLimits()) {
+            Long itemId = ((Number) row[0]).longValue();
+            int dailyStock = ((Number) row[1]).intValue();
+            int target = (int) (dailyStock - sold.getOrDefault(itemId, 0L));
+            Integer seeded = restored.get(itemId);
+            if (seeded != null) {
+                generation.counters.adjust(itemId, target - seeded);
+            } else {
+                generation.counters.set(itemId, target);
+            }
+            generation.limits.put(itemId, dailyStock);
+        }
+        restored = Map.of();
+        persist();
+    }
+
+    @Scheduled(cron = "${stock.reset-cron:0 0 0 * * *}")
+    public void resetDaily() {
+        currentGeneration();
+    }
+
+    @Scheduled(fixedDelayString = "${stock.persist-interval-ms:30000}")
+    public void persist() {
+        Generation generation = current;
+        Map<Long, Integer> snapshot = generation.counters.drainDirty();
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        Date day = Date.valueOf(generation.day);
+        List<Object[]> batch = new ArrayList<>(snapshot.size());
+        snapshot.forEach((itemId, remaining) -> batch.add(new Object[] { remaining, day, itemId }));
+        jdbcTemplate.batchUpdate("UPDATE menu_items SET stock_remaining = ?, stock_date = ? WHERE id = ?", batch);
+        entityCacheEvictor.evictAfterCommit(MenuItem.class, new ArrayList<>(snapshot.keySet()));
+    }
+
+    // Reserves every line or none; reservations are returned automatically if the surrounding transaction rolls back.
+    // Returns the id of an item that is sold out, or null when the whole order is covered.
+    public Long reserve(Map<Long, Integer> quantities) {
+        StockCounters counters = currentGeneration().counters;
+        Long soldOut = counters.reserveAll(quantities);
+        if (soldOut == null) {
+            // Into the generation the stock came from, even if the day has rolled over since
+            AfterCommit.onRollback(() -> counters.releaseAll(quantities));
+        }
+        return soldOut;
+    }
+
+    public void releaseOrder(Long orderId, LocalDateTime placedAt) {
+        // Stock is daily; orders from an earlier day were already counted against that day's stock
+        Generation generation = current;
+        if (placedAt == null || !placedAt.toLocalDate().equals(generation.day)) {
+            return;
+        }
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderItem item : orderItemRepository.findByOrderId(orderId)) {
+            quantities.merge(item.getMenuItemId(), item.getQuantity(), Integer::sum);
+        }
+        generation.counters.releaseAll(quantities);
+    }
+
+    public void configure(Long itemId, Integer dailyStock, Integer previousDailyStock) {
+        Generation generation = current;
+        if (dailyStock == null) {
+            generation.remove(itemId);
+        } else if (previousDailyStock == null || !generation.counters.isTracked(itemId)) {
+            long sold = soldSince(generation.day.atStartOfDay()).getOrDefault(itemId, 0L);
+            generation.counters.set(itemId, (int) (dailyStock - sold));
+            generation.limits.put(itemId, dailyStock);
+        } else {
+            generation.counters.adjust(itemId, dailyStock - previousDailyStock);
+            generation.limits.put(itemId, dailyStock);
+        }
+    }
+
+    // Tracked items move by the change in their daily stock, so checkouts in flight keep their reservations;
+    // only items that were unlimited until now are counted from today's orders
+    public void reloadShop(Long shopId) {
+        Generation generation = current;
+        Map<Long, Long> sold = null;
+        for (Object[] row : menuItemRepository.findStockLimitsByShopId(shopId)) {
+            Long itemId = ((Number) row[0]).longValue();
+            if (row[1] == null) {
+                generation.remove(itemId);
+                continue;
+            }
+            int dailyStock = ((Number) row[1]).intValue();
+            Integer previous = generation.limits.put(itemId, dailyStock);
+            if (previous != null && generation.counters.isTracked(itemId)) {
+                generation.counters.adjust(itemId, dailyStock - previous);
+                continue;
+            }
+            if (sold == null) {
+                sold = soldSince(generation.day.atStartOfDay());
+            }
+            generation.counters.set(itemId, (int) (dailyStock - sold.getOrDefault(itemId, 0L)));
+        }
+    }
+
+    public void remove(Long itemId) {
+        current.remove(itemId);
+    }
+
+    public Integer getRemaining(Long itemId) {
+        return current.counters.get(itemId);
+    }
+
+    public Map<Long, Integer> getRemainingForShop(Long shopId) {
+        Map<Long, Integer> remaining = new LinkedHashMap<>();
+        StockCounters counters = current.counters;
+        for (Long itemId : menuItemRepository.findStockedItemIds(shopId)) {
+            Integer value = counters.get(itemId);
+            if (value != null) {
+                remaining.put(itemId, value);
+            }
+        }
+        return remaining;
+    }
+
+    private Map<Long, Long> soldSince(LocalDateTime since) {
+        Map<Long, Long> sold = new HashMap<>();
+        for (Object[] row : orderItemRepository.sumQuantitiesSince(since)) {
+            sold.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        return sold;
+    }
+
+    // Switches to a new day's counters the first time it is needed after midnight
+    private Generation currentGeneration() {
+        Generation generation = current;
+        if (generation.day.equals(LocalDate.now())) {
+            return generation;
+        }
+        synchronized (this) {
+            LocalDate today = LocalDate.now();
+            if (current.day.isBefore(today)) {
+                current = build(today);
+                persist();
+            }
+            return current;
+        }
+    }
+
+    private Generation build(LocalDate day) {
+        Generation generation = new Generation(day);
+        Map<Long, Long> sold = soldSince(day.atStartOfDay());
+        for (Object[] row : menuItemRepository.findStockLimits()) {
+            Long itemId = ((Number) row[0]).longValue();
+            int dailyStock = ((Number) row[1]).intValue();
+            generation.counters.set(itemId, (int) (dailyStock - sold.getOrDefault(itemId, 0L)));
+            generation.limits.put(itemId, dailyStock);
+        }
+        return generation;
+    }
+
+    // One business day of stock. The daily reset swaps in a new generation instead of overwriting the
+    // counters: a checkout still in flight at midnight keeps its reservation in the old day, and a
+    // rollback returns it there instead of pushing the new day's counter above its real stock.
+    private static final class Generation {
+
+        private final LocalDate day;
+        private final StockCounters counters = new StockCounters();
+        // Daily stock each counter was built from, so later changes apply as a difference
+        private final ConcurrentHashMap<Long, Integer> limits = new ConcurrentHashMap<>();
+
+        private Generation(LocalDate day) {
+            this.day = day;
+        }
+
+        private void remove(Long itemId) {
+            counters.remove(itemId);
+            limits.remove(itemId);
+        }
+    }
+}
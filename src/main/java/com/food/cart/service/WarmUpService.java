@@ -0,0 +1,158 @@
+package com.food.cart.service;
+
+import com.food.cart.dto.ShopListingDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Readiness only switches to ACCEPTING_TRAFFIC once every ApplicationReadyEvent listener has
+// returned, so holding the ready event here keeps the node out of the load balancer until the
+// connection pool is open, the catalog and popular menus are cached, and the request path has run
+// often enough to be compiled. After warmup.deadline-ms the node reports ready regardless.
+@Service
+public class WarmUpService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpService.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ShopService shopService;
+
+    @Autowired
+    private ShopListingService shopListingService;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.deadline-ms:30000}")
+    private long deadlineMs;
+
+    @Value("${warmup.pool-connections:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int poolConnections;
+
+    @Value("${warmup.popular-menus:50}")
+    private int popularMenus;
+
+    @Value("${warmup.requests:300}")
+    private int requests;
+
+    // After the index rebuilds and stock reconciliation, which also listen for the ready event
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Void> warmUp = new CompletableFuture<>();
+        Thread worker = new Thread(() -> {
+            try {
+                run(event.getApplicationContext());
+                warmUp.complete(null);
+            } catch (Exception e) {
+                warmUp.completeExceptionally(e);
+            }
+        }, "warm-up");
+        worker.setDaemon(true);
+        worker.start();
+
+        try {
+            warmUp.get(deadlineMs, TimeUnit.MILLISECONDS);
+            log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            log.warn("Warm-up still running after {} ms; reporting ready anyway", deadlineMs);
+        } catch (ExecutionException e) {
+            log.warn("Warm-up failed; reporting ready anyway", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(ApplicationContext context) throws SQLException, IOException, InterruptedException {
+        primeConnectionPool();
+
+        shopService.getShopCatalog();
+        List<ShopListingDTO> popular = shopListingService.search("popular", null, false);
+        List<ShopListingDTO> warmed = popular.subList(0, Math.min(popularMenus, popular.size()));
+        for (ShopListingDTO shop : warmed) {
+            shopService.getShopMenuResponse(shop.getId());
+        }
+        log.info("Warm-up cached the catalog and {} popular menus", warmed.size());
+
+        if (context instanceof WebServerApplicationContext web && web.getWebServer().getPort() > 0) {
+            exerciseRequestPath(web.getWebServer().getPort(), warmed);
+        }
+    }
+
+    // Holding the connections together makes the pool open all of them now, not on the first busy minute
+    private void primeConnectionPool() throws SQLException {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < poolConnections; i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(2);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    // Runs the public read endpoints through the servlet, security and serialization stack
+    private void exerciseRequestPath(int port, List<ShopListingDTO> shops) throws IOException, InterruptedException {
+        String base = "http://localhost:" + port;
+        List<URI> uris = new ArrayList<>();
+        uris.add(URI.create(base + "/api/shops"));
+        uris.add(URI.create(base + "/api/shops?sort=popular"));
+        for (ShopListingDTO shop : shops) {
+            uris.add(URI.create(base + "/api/shops/" + shop.getId() + "/menu"));
+            String term = shop.getShopName().split("\\s+")[0];
+            uris.add(URI.create(base + "/api/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8)));
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        int failures = 0;
+        for (int i = 0; i < requests; i++) {
+            URI uri = uris.get(i % uris.size());
+            // Alternate compressed and plain responses so both encodings are exercised
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Accept-Encoding", i % 2 == 0 ? "gzip" : "identity")
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400) {
+                failures++;
+            }
+        }
+        log.info("Warm-up sent {} requests ({} failed)", requests, failures);
+    }
+}
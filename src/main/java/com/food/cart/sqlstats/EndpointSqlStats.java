@@ -0,0 +1,57 @@
+package com.food.cart.sqlstats;
+
+import com.food.cart.dto.SqlEndpointStatsDTO;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+class EndpointSqlStats {
+
+    private final String endpoint;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder dbNanos = new LongAdder();
+    private final LongAdder requestsWithRepeats = new LongAdder();
+    private final LongAdder budgetViolations = new LongAdder();
+    private final AtomicInteger maxStatements = new AtomicInteger();
+    private volatile List<String> lastRepeatedShapes = List.of();
+
+    EndpointSqlStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(RequestSqlStats stats, boolean overBudget) {
+        int count = stats.getStatements();
+        requests.increment();
+        statements.add(count);
+        rows.add(stats.getRows());
+        dbNanos.add(stats.getDbNanos());
+        maxStatements.accumulateAndGet(count, Math::max);
+        List<String> repeated = stats.getRepeatedShapes();
+        if (!repeated.isEmpty()) {
+            requestsWithRepeats.increment();
+            lastRepeatedShapes = repeated;
+        }
+        if (overBudget) {
+            budgetViolations.increment();
+        }
+    }
+
+    SqlEndpointStatsDTO toDTO() {
+        long requestCount = requests.sum();
+        long statementCount = statements.sum();
+        return new SqlEndpointStatsDTO(
+                endpoint,
+                requestCount,
+                statementCount,
+                requestCount == 0 ? 0 : (double) statementCount / requestCount,
+                maxStatements.get(),
+                rows.sum(),
+                dbNanos.sum() / 1_000_000,
+                requestsWithRepeats.sum(),
+                budgetViolations.sum(),
+                lastRepeatedShapes);
+    }
+}
@@ -0,0 +1,132 @@
+package com.food.cart.sqlstats;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Statement counts for one HTTP request. Bound to the request thread, and to executor threads
+// doing work on its behalf, so updates are synchronized.
+public class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final int repeatThreshold;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private final List<String> repeatedShapes = new ArrayList<>();
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    private int budget = -1;
+    private boolean budgetFailed;
+    // Full statement text, only kept when asked for: query plan tests EXPLAIN what actually ran
+    private List<String> statementLog;
+
+    RequestSqlStats(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    static RequestSqlStats begin(int repeatThreshold) {
+        RequestSqlStats stats = new RequestSqlStats(repeatThreshold);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    // Carries the caller's stats into a task that runs on another thread
+    public static Runnable propagate(Runnable task) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            RequestSqlStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    synchronized void keepStatements() {
+        statementLog = new ArrayList<>();
+    }
+
+    synchronized List<String> getStatementLog() {
+        return statementLog == null ? List.of() : new ArrayList<>(statementLog);
+    }
+
+    synchronized void recordStatement(String sql, long nanos) {
+        statements++;
+        dbNanos += nanos;
+        if (sql != null && statementLog != null) {
+            statementLog.add(sql);
+        }
+        if (sql != null) {
+            String shape = SqlShape.of(sql);
+            int count = shapes.merge(shape, 1, Integer::sum);
+            if (count == repeatThreshold) {
+                repeatedShapes.add(shape);
+            }
+        }
+    }
+
+    synchronized void recordRows(long count) {
+        rows += count;
+    }
+
+    public synchronized int getStatements() {
+        return statements;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public synchronized long getDbNanos() {
+        return dbNanos;
+    }
+
+    public synchronized List<String> getRepeatedShapes() {
+        return new ArrayList<>(repeatedShapes);
+    }
+
+    public synchronized int getBudget() {
+        return budget;
+    }
+
+    synchronized void setBudget(int budget) {
+        this.budget = budget;
+    }
+
+    public synchronized boolean isOverBudget() {
+        return budget >= 0 && statements > budget;
+    }
+
+    // True the first time an over-budget request is checked, so only one place fails it and the
+    // error response that follows can still be written
+    synchronized boolean failOverBudget() {
+        if (budgetFailed || !isOverBudget()) {
+            return false;
+        }
+        budgetFailed = true;
+        return true;
+    }
+
+    public synchronized int countOf(String shape) {
+        return shapes.getOrDefault(shape, 0);
+    }
+}
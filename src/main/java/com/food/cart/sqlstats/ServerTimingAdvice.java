@@ -0,0 +1,54 @@
+package com.food.cart.sqlstats;
+
+import com.food.cart.exception.SqlBudgetExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+// The body is written after the handler returns, so the counts here cover the whole request
+// except anything lazily loaded during serialization. An over-budget request that writes a body,
+// including an error body, fails here while it can still get a 500; SqlStatsFilter checks the rest.
+@ControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Value("${sql-stats.server-timing:true}")
+    private boolean serverTiming;
+
+    @Value("${sql-stats.enforce-budgets:false}")
+    private boolean enforceBudgets;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (stats == null) {
+            return body;
+        }
+
+        if (enforceBudgets && stats.failOverBudget()) {
+            throw new SqlBudgetExceededException(String.format(
+                    "%s issued %d SQL statements, over its budget of %d",
+                    request.getURI().getPath(), stats.getStatements(), stats.getBudget()));
+        }
+
+        if (serverTiming) {
+            response.getHeaders().add("Server-Timing", String.format(Locale.ROOT,
+                    "db;dur=%.1f;desc=\"%d statements, %d rows\"",
+                    stats.getDbNanos() / 1_000_000.0, stats.getStatements(), stats.getRows()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,16 @@
+package com.food.cart.sqlstats;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Declares how many SQL statements one call to the endpoint may issue. Overruns are logged and
+// counted; with sql-stats.enforce-budgets=true (integration test runs) they fail the request,
+// whether the handler returns a body, returns nothing or ends in an error.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int statements();
+}
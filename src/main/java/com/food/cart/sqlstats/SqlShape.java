@@ -0,0 +1,84 @@
+package com.food.cart.sqlstats;
+
+// Reduces a statement to its shape: literals become ?, IN lists collapse and whitespace is
+// squeezed, so the same query issued with different ids counts as one shape.
+final class SqlShape {
+
+    private static final int MAX_LENGTH = 500;
+
+    private SqlShape() {
+    }
+
+    static String of(String sql) {
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), MAX_LENGTH));
+        int length = sql.length();
+        int i = 0;
+        boolean space = false;
+        while (i < length && out.length() < MAX_LENGTH) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = true;
+                i++;
+                continue;
+            }
+            if (space && out.length() > 0) {
+                out.append(' ');
+            }
+            space = false;
+
+            if (c == '\'') {
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                out.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (c == '(' && startsList(sql, i + 1)) {
+                // "(?, ?, ?)" -> "(?...)"
+                int close = sql.indexOf(')', i);
+                i = close < 0 ? length : close + 1;
+                out.append("(?...)");
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_';
+    }
+
+    private static boolean startsList(String sql, int from) {
+        int commas = 0;
+        for (int i = from; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == ')') {
+                return commas > 0;
+            }
+            if (c == ',') {
+                commas++;
+            } else if (c != '?' && !Character.isWhitespace(c) && !Character.isDigit(c)) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,30 @@
+package com.food.cart.sqlstats;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps only the application's main "dataSource" bean; with replica routing enabled that is the
+// outer lazy proxy, so primary and replica traffic are both counted once
+@Component
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private boolean enabled = true;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        enabled = environment.getProperty("sql-stats.enabled", Boolean.class, true);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && "dataSource".equals(beanName) && bean instanceof DataSource
+                && !(bean instanceof SqlCountingDataSource)) {
+            return new SqlCountingDataSource((DataSource) bean);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,74 @@
+package com.food.cart.sqlstats;
+
+import com.food.cart.exception.SqlBudgetExceededException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Runs ahead of Spring Security so the user lookup done during authentication is counted too
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    @Autowired
+    private SqlStatsRegistry registry;
+
+    @Value("${sql-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sql-stats.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Value("${sql-stats.enforce-budgets:false}")
+    private boolean enforceBudgets;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin(repeatThreshold);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+            boolean overBudget = stats.isOverBudget();
+            registry.record(endpoint, stats, overBudget);
+
+            for (String shape : stats.getRepeatedShapes()) {
+                log.warn("Possible N+1 on {}: {} executions of [{}]", endpoint, stats.countOf(shape), shape);
+            }
+            if (overBudget) {
+                log.warn("{} issued {} SQL statements, over its budget of {}",
+                        endpoint, stats.getStatements(), stats.getBudget());
+            }
+        }
+
+        // Handlers without a body, such as void and streaming ones, never reach ServerTimingAdvice
+        if (enforceBudgets && stats.failOverBudget()) {
+            throw new SqlBudgetExceededException(String.format(
+                    "%s issued %d SQL statements, over its budget of %d",
+                    request.getRequestURI(), stats.getStatements(), stats.getBudget()));
+        }
+    }
+}
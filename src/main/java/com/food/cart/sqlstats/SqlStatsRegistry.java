@@ -0,0 +1,30 @@
+package com.food.cart.sqlstats;
+
+import com.food.cart.dto.SqlEndpointStatsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+public class SqlStatsRegistry {
+
+    private final ConcurrentHashMap<String, EndpointSqlStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, RequestSqlStats stats, boolean overBudget) {
+        endpoints.computeIfAbsent(endpoint, EndpointSqlStats::new).record(stats, overBudget);
+    }
+
+    public List<SqlEndpointStatsDTO> snapshot() {
+        return endpoints.values().stream()
+                .map(EndpointSqlStats::toDTO)
+                .sorted(Comparator.comparingDouble(SqlEndpointStatsDTO::getAvgStatements).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+}
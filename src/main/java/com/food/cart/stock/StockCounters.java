@@ -0,0 +1,98 @@
+package com.food.cart.stock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Remaining daily stock per menu item. Items without a counter are unlimited.
+// Reservations are compare-and-set loops, so buyers of the same item never block each other.
+public class StockCounters {
+
+    private final ConcurrentHashMap<Long, AtomicInteger> remaining = new ConcurrentHashMap<>();
+
+    // Items whose counter changed since the last snapshot was persisted
+    private final ConcurrentHashMap<Long, Boolean> dirty = new ConcurrentHashMap<>();
+
+    public void set(long itemId, int quantity) {
+        remaining.computeIfAbsent(itemId, id -> new AtomicInteger()).set(Math.max(0, quantity));
+        dirty.put(itemId, Boolean.TRUE);
+    }
+
+    public void adjust(long itemId, int delta) {
+        AtomicInteger counter = remaining.get(itemId);
+        if (counter != null) {
+            counter.updateAndGet(current -> Math.max(0, current + delta));
+            dirty.put(itemId, Boolean.TRUE);
+        }
+    }
+
+    public void remove(long itemId) {
+        remaining.remove(itemId);
+        dirty.remove(itemId);
+    }
+
+    public boolean isTracked(long itemId) {
+        return remaining.containsKey(itemId);
+    }
+
+    // Returns null for unlimited items
+    public Integer get(long itemId) {
+        AtomicInteger counter = remaining.get(itemId);
+        return counter == null ? null : counter.get();
+    }
+
+    // Reserves every line or none. Returns the id of the first item that could not be covered, or null on success.
+    public Long reserveAll(Map<Long, Integer> quantities) {
+        // Fixed order keeps partial reservations and rollbacks predictable under contention
+        Map<Long, Integer> taken = new HashMap<>();
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(quantities).entrySet()) {
+            AtomicInteger counter = remaining.get(line.getKey());
+            if (counter == null) {
+                continue;
+            }
+            if (!tryTake(counter, line.getValue())) {
+                releaseAll(taken);
+                return line.getKey();
+            }
+            taken.put(line.getKey(), line.getValue());
+        }
+        taken.keySet().forEach(id -> dirty.put(id, Boolean.TRUE));
+        return null;
+    }
+
+    public void releaseAll(Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            AtomicInteger counter = remaining.get(line.getKey());
+            if (counter != null) {
+                counter.addAndGet(line.getValue());
+                dirty.put(line.getKey(), Boolean.TRUE);
+            }
+        }
+    }
+
+    public Map<Long, Integer> drainDirty() {
+        Map<Long, Integer> snapshot = new HashMap<>();
+        for (Long itemId : dirty.keySet()) {
+            dirty.remove(itemId);
+            AtomicInteger counter = remaining.get(itemId);
+            if (counter != null) {
+                snapshot.put(itemId, counter.get());
+            }
+        }
+        return snapshot;
+    }
+
+    private static boolean tryTake(AtomicInteger counter, int quantity) {
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+}
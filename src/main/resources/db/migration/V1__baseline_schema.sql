@@ -0,0 +1,77 @@
+-- Schema as originally generated by Hibernate ddl-auto=update
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role ENUM('ROLE_CUSTOMER', 'ROLE_OWNER') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE shops (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    shop_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    address VARCHAR(255),
+    image_url TEXT,
+    owner_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_shops_owner_id UNIQUE (owner_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE menu_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(10, 2) NOT NULL,
+    image_url LONGTEXT,
+    shop_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_menu_items_shop FOREIGN KEY (shop_id) REFERENCES shops (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    shop_id BIGINT,
+    total_amount DECIMAL(10, 2),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_cart_user_id UNIQUE (user_id),
+    CONSTRAINT fk_cart_shop FOREIGN KEY (shop_id) REFERENCES shops (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE cart_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cart_id BIGINT NOT NULL,
+    menu_item_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_cart FOREIGN KEY (cart_id) REFERENCES cart (id),
+    CONSTRAINT fk_cart_items_menu_item FOREIGN KEY (menu_item_id) REFERENCES menu_items (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT NOT NULL,
+    shop_id BIGINT NOT NULL,
+    total_amount DECIMAL(10, 2) NOT NULL,
+    status ENUM('PENDING', 'PREPARING', 'READY', 'DELIVERED', 'CANCELLED') NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES users (id),
+    CONSTRAINT fk_orders_shop FOREIGN KEY (shop_id) REFERENCES shops (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT NOT NULL,
+    menu_item_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    price_at_order DECIMAL(10, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_menu_item FOREIGN KEY (menu_item_id) REFERENCES menu_items (id)
+) ENGINE = InnoDB;
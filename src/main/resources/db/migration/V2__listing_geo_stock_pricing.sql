@@ -0,0 +1,32 @@
+-- Shop coordinates and menu price version
+ALTER TABLE shops ADD COLUMN latitude DOUBLE;
+ALTER TABLE shops ADD COLUMN longitude DOUBLE;
+ALTER TABLE shops ADD COLUMN menu_version BIGINT NOT NULL DEFAULT 0;
+
+-- Optional daily stock
+ALTER TABLE menu_items ADD COLUMN daily_stock INT;
+ALTER TABLE menu_items ADD COLUMN stock_remaining INT;
+ALTER TABLE menu_items ADD COLUMN stock_date DATE;
+
+-- Menu version the cart total was priced against
+ALTER TABLE cart ADD COLUMN menu_version BIGINT;
+
+-- Denormalized shop listing read model
+CREATE TABLE shop_listing (
+    shop_id BIGINT NOT NULL,
+    shop_name VARCHAR(255) NOT NULL,
+    description TEXT,
+    address VARCHAR(255),
+    image_url TEXT,
+    item_count INT NOT NULL,
+    min_price DECIMAL(10, 2),
+    max_price DECIMAL(10, 2),
+    order_count BIGINT NOT NULL,
+    active_order_count INT NOT NULL,
+    popular_items VARCHAR(1000),
+    updated_at DATETIME(6),
+    PRIMARY KEY (shop_id),
+    INDEX idx_shop_listing_min_price (min_price, shop_id),
+    INDEX idx_shop_listing_order_count (order_count, shop_id),
+    INDEX idx_shop_listing_active_orders (active_order_count, shop_id)
+) ENGINE = InnoDB;
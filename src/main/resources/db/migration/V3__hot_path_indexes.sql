@@ -0,0 +1,16 @@
+-- OrderRepository.findByShopId, countByShopId, countByShopIdAndStatusIn, countPendingOrders and
+-- calculateTotalRevenue; total_amount is included so the revenue sum is answered from the index
+CREATE INDEX idx_orders_shop_status_created ON orders (shop_id, status, created_at, total_amount);
+
+-- OrderRepository.findByCustomerId (order history)
+CREATE INDEX idx_orders_customer_created ON orders (customer_id, created_at);
+
+-- OrderItemRepository.sumQuantitiesSince (stock reconciliation)
+CREATE INDEX idx_orders_created_status ON orders (created_at, status);
+
+-- OrderItemRepository.findByOrderId and the order_items side of findTopSellingItems /
+-- sumQuantitiesSince, which only need menu_item_id and quantity per order
+CREATE INDEX idx_order_items_order_item_qty ON order_items (order_id, menu_item_id, quantity);
+
+-- CartItemRepository.findByCartId and the per-item lookup when adding to the cart
+CREATE INDEX idx_cart_items_cart_item ON cart_items (cart_id, menu_item_id);
@@ -0,0 +1,3 @@
+-- OrderExportService: orders of one shop in a created_at range, read in (created_at, id) order.
+-- InnoDB appends the primary key to secondary indexes, so the ORDER BY needs no filesort.
+CREATE INDEX idx_orders_shop_created ON orders (shop_id, created_at);
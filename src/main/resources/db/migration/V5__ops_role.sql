@@ -0,0 +1,4 @@
+-- Operator accounts for the actuator endpoints (metrics, SQL statistics, flight recordings).
+-- There is no registration path for this role; promote a dedicated account by hand:
+--   UPDATE users SET role = 'ROLE_OPS' WHERE username = '...';
+ALTER TABLE users MODIFY COLUMN role ENUM('ROLE_CUSTOMER', 'ROLE_OWNER', 'ROLE_OPS') NOT NULL;
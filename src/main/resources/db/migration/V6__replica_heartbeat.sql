@@ -0,0 +1,8 @@
+-- ReplicaHealthMonitor: the primary stamps beat_at (epoch millis) on every check and each
+-- replica's replicated copy of the row tells how far behind it is.
+CREATE TABLE replica_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, 0);
@@ -0,0 +1,138 @@
+package com.food.cart.config;
+
+import com.food.cart.model.OrderStatus;
+import com.food.cart.repository.CartItemRepository;
+import com.food.cart.repository.OrderItemRepository;
+import com.food.cart.repository.OrderRepository;
+import com.food.cart.repository.ShopListingRepository;
+import com.food.cart.service.OrderExportService;
+import com.food.cart.sqlstats.CapturedStatements;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the hot repository and export queries, captures the SQL they actually issue and EXPLAINs it
+// on the schema the migrations build, so a changed @Query or derived query is checked as it runs.
+// H2 names the index of each table access in a comment ("/* public.idx_name: ... */") and marks
+// full scans with ".tableScan"; parameters stay unbound, which H2 plans the same way.
+// Its own database, so rows left by other tests cannot change the plans.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:foodcart-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final long OWNER_ID = 9201;
+    private static final Set<OrderStatus> ACTIVE = Set.of(OrderStatus.PENDING, OrderStatus.PREPARING, OrderStatus.READY);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ShopListingRepository shopListingRepository;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    private final Map<String, Runnable> queries = new LinkedHashMap<>();
+
+    @BeforeAll
+    void hotQueries() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role) "
+                + "VALUES (9201, 'plan-owner', 'plan-owner@example.com', 'x', 'ROLE_OWNER')");
+        jdbcTemplate.update("INSERT INTO shops (id, shop_name, owner_id) VALUES (9201, 'Plan Shop', 9201)");
+
+        queries.put("OrderRepository.findByShopId", () -> orderRepository.findByShopId(1L));
+        queries.put("OrderRepository.findByCustomerId", () -> orderRepository.findByCustomerId(1L));
+        queries.put("OrderRepository.countByShopIdAndStatusIn", () -> orderRepository.countByShopIdAndStatusIn(1L, ACTIVE));
+        queries.put("OrderRepository.calculateTotalRevenue", () -> orderRepository.calculateTotalRevenue(1L));
+        queries.put("OrderRepository.countPendingOrders", () -> orderRepository.countPendingOrders(1L));
+        queries.put("OrderRepository.findTopSellingItems", () -> orderRepository.findTopSellingItems(1L));
+        queries.put("ShopListingRepository.recountOrders", () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> shopListingRepository.recountOrders(1L, ACTIVE)));
+        queries.put("OrderItemRepository.findByOrderId", () -> orderItemRepository.findByOrderId(1L));
+        queries.put("OrderItemRepository.findSummariesByOrderIdIn",
+                () -> orderItemRepository.findSummariesByOrderIdIn(List.of(1L, 2L, 3L)));
+        queries.put("OrderItemRepository.sumQuantitiesSince",
+                () -> orderItemRepository.sumQuantitiesSince(LocalDateTime.now().minusDays(1)));
+        queries.put("OrderExportService.exportOrders", () -> orderExportService.exportOrders(OWNER_ID,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "csv", OutputStream.nullOutputStream()));
+        queries.put("CartItemRepository.findByCartId", () -> cartItemRepository.findByCartId(1L));
+        queries.put("CartItemRepository.findSummariesByCartId", () -> cartItemRepository.findSummariesByCartId(1L));
+    }
+
+    @Test
+    void noHotQueryScansATable() {
+        for (String query : queries.keySet()) {
+            for (String plan : plans(query)) {
+                assertThat(plan).as(query).doesNotContain(".tableScan");
+            }
+        }
+    }
+
+    // H2 also names an index it merely scans in full, listing the filter conditions, so the index has
+    // to be searched by its leading column for the query to count as using it
+    @ParameterizedTest
+    @CsvSource({
+            "ShopListingRepository.recountOrders, idx_orders_shop_status_created, shop_id",
+            "OrderRepository.countByShopIdAndStatusIn, idx_orders_shop_status_created, shop_id",
+            "OrderRepository.calculateTotalRevenue, idx_orders_shop_status_created, shop_id",
+            "OrderRepository.countPendingOrders, idx_orders_shop_status_created, shop_id",
+            "OrderRepository.findTopSellingItems, idx_order_items_order_item_qty, order_id",
+            "OrderItemRepository.sumQuantitiesSince, idx_orders_created_status, created_at",
+            "OrderItemRepository.sumQuantitiesSince, idx_order_items_order_item_qty, order_id",
+            "OrderExportService.exportOrders, idx_orders_shop_created, shop_id"
+    })
+    void hotQueryUsesItsIndex(String query, String index, String leadingColumn) {
+        assertThat(plans(query)).as(query).anyMatch(plan -> {
+            int start = plan.indexOf("/* public." + index + ":");
+            return start >= 0 && plan.substring(start, plan.indexOf("*/", start)).contains(" " + leadingColumn + " ");
+        });
+    }
+
+    // Runs the query, then EXPLAINs each statement it issued
+    private List<String> plans(String query) {
+        Runnable run = queries.get(query);
+        assertThat(run).as("query %s", query).isNotNull();
+        List<String> statements = CapturedStatements.of(run);
+        assertThat(statements).as("statements issued by %s", query).isNotEmpty();
+
+        List<String> plans = new ArrayList<>();
+        for (String sql : statements) {
+            plans.add(jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : null));
+        }
+        return plans;
+    }
+}
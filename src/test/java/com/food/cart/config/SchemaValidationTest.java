@@ -0,0 +1,32 @@
+package com.food.cart.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Migrates an empty database and lets Hibernate validate every entity against it (ddl-auto=validate
+// in the test profile), the same contract production starts with. The context failing to start is
+// the failure this test is for.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:foodcart-schema;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class SchemaValidationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void entitiesMatchTheMigratedSchema() {
+        MigrationInfo[] migrations = flyway.info().all();
+        assertThat(migrations).isNotEmpty();
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(Arrays.stream(migrations).map(m -> m.getState().isApplied())).containsOnly(true);
+    }
+}
@@ -0,0 +1,149 @@
+package com.food.cart.datasource;
+
+import com.food.cart.cache.CachedResponse;
+import com.food.cart.pricing.MenuPriceSnapshot;
+import com.food.cart.service.MenuPriceService;
+import com.food.cart.service.ShopService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replica are two H2 databases (application-replica-test.properties). Nothing replicates
+// between them, so which database answered shows where a read was routed, and the replica's lag is
+// whatever heartbeat the test writes into it.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"test", "replica-test"})
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:foodcart-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ShopService shopService;
+
+    @Autowired
+    private MenuPriceService menuPriceService;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void replicaInSync() {
+        heartbeat(0);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertThat(readOnly(this::database)).isEqualTo("foodcart-replica");
+        assertThat(readWrite(this::database)).isEqualTo("foodcart-primary");
+    }
+
+    @Test
+    void userWhoWroteReadsFromThePrimary() {
+        signIn("replica-writer");
+        readWrite(() -> jdbcTemplate.update("UPDATE replica_heartbeat SET beat_at = beat_at WHERE id = 1"));
+        assertThat(readOnly(this::database)).isEqualTo("foodcart-primary");
+
+        signIn("replica-reader");
+        assertThat(readOnly(this::database)).isEqualTo("foodcart-replica");
+    }
+
+    @Test
+    void laggingReplicaIsTakenOutOfRotation() {
+        heartbeat(60_000);
+        assertThat(readOnly(this::database)).isEqualTo("foodcart-primary");
+
+        heartbeat(0);
+        assertThat(readOnly(this::database)).isEqualTo("foodcart-replica");
+    }
+
+    @Test
+    void cachesAndPriceSnapshotsAreLoadedFromThePrimary() {
+        // Committed on the primary and not yet on the replica, as right after a write
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("INSERT INTO users (id, username, email, password, role) "
+                + "VALUES (9001, 'replica-owner', 'replica-owner@example.com', 'x', 'ROLE_OWNER')");
+        primary.update("INSERT INTO shops (id, shop_name, owner_id) VALUES (9001, 'Primary Only Shop', 9001)");
+        primary.update("INSERT INTO menu_items (id, name, price, shop_id) VALUES (9001, 'Primary Only Item', 7.25, 9001)");
+
+        assertThat(shopService.getAllShops()).noneMatch(shop -> shop.getId() == 9001L);
+        assertThat(body(shopService.getShopCatalog())).contains("Primary Only Shop");
+        assertThat(body(shopService.getShopMenuResponse(9001L))).contains("Primary Only Item");
+
+        // Inside a read-only transaction already holding a replica connection, as in getCart
+        MenuPriceSnapshot prices = readOnly(() -> {
+            database();
+            return menuPriceService.current(9001L);
+        });
+        assertThat(prices.priceMinor(9001L)).isEqualTo(725);
+    }
+
+    private static String body(CachedResponse response) {
+        return new String(response.toResponseEntity(null, null).getBody(), StandardCharsets.UTF_8);
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    // Stamps the replica's copy of the heartbeat as if replication were lagMillis behind, then checks health
+    private void heartbeat(long lagMillis) {
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis() - lagMillis);
+        replicaHealthMonitor.check();
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> work.get());
+    }
+
+    private <T> T readWrite(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
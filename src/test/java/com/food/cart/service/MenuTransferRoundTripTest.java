@@ -0,0 +1,80 @@
+package com.food.cart.service;
+
+import com.food.cart.dto.ImportReportDTO;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exports a menu whose fields need quoting, including a description spanning several lines, imports
+// the file into an empty shop and expects that shop to export byte for byte the same
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MenuTransferRoundTripTest {
+
+    private static final long SOURCE_OWNER_ID = 9101;
+    private static final long TARGET_OWNER_ID = 9102;
+    private static final long REJECTS_OWNER_ID = 9103;
+
+    @Autowired
+    private MenuTransferService menuTransferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void createShops() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role) VALUES "
+                + "(9101, 'transfer-source', 'transfer-source@example.com', 'x', 'ROLE_OWNER'), "
+                + "(9102, 'transfer-target', 'transfer-target@example.com', 'x', 'ROLE_OWNER'), "
+                + "(9103, 'transfer-rejects', 'transfer-rejects@example.com', 'x', 'ROLE_OWNER')");
+        jdbcTemplate.update("INSERT INTO shops (id, shop_name, owner_id) VALUES "
+                + "(9101, 'Transfer Source', 9101), (9102, 'Transfer Target', 9102), (9103, 'Transfer Rejects', 9103)");
+        String sql = "INSERT INTO menu_items (shop_id, name, description, price, daily_stock, image_url) VALUES (9101, ?, ?, ?, ?, ?)";
+        jdbcTemplate.update(sql, "Plain Bowl", "Rice and greens", 8.50, null, null);
+        jdbcTemplate.update(sql, "Soup, \"House\"", "Ask for \"extra\" bread, please", 5.00, 20, "data:soup");
+        jdbcTemplate.update(sql, "Set Menu", "Starter: salad\nMain: curry, rice\nDessert: \"mochi\"", 14.25, 10, null);
+    }
+
+    @Test
+    void csvExportImportsBackUnchanged() {
+        String exported = export(SOURCE_OWNER_ID, MenuTransferService.CSV);
+        assertThat(exported).contains("\"Starter: salad\nMain: curry, rice\n");
+
+        ImportReportDTO report = menuTransferService.importMenu(TARGET_OWNER_ID,
+                new ByteArrayInputStream(exported.getBytes(StandardCharsets.UTF_8)), MenuTransferService.CSV);
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getInserted()).isEqualTo(3);
+
+        assertThat(export(TARGET_OWNER_ID, MenuTransferService.CSV)).isEqualTo(exported);
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM menu_items WHERE shop_id = 9102 AND name = 'Set Menu'",
+                String.class)).isEqualTo("Starter: salad\nMain: curry, rice\nDessert: \"mochi\"");
+    }
+
+    @Test
+    void rowErrorsReportTheFirstLineOfAMultiLineRecord() {
+        String csv = "name,description,price\n"
+                + "Two Liner,\"first\nsecond\",3.00\n"
+                + "No Price,\"a\nb\nc\",\n";
+        ImportReportDTO report = menuTransferService.importMenu(REJECTS_OWNER_ID,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), MenuTransferService.CSV);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors().get(0).getLine()).isEqualTo(4);
+    }
+
+    private String export(long ownerId, String format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        menuTransferService.exportMenu(ownerId, format, true, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
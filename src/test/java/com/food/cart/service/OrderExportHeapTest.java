@@ -0,0 +1,124 @@
+package com.food.cart.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exports one million item lines and samples the live heap (after a full GC) while the export is
+// writing. A streamed export stays flat; collecting the rows first would need several hundred MB.
+// The database is a fresh file under target/, so the rows themselves are not on the heap, and
+// H2 spills large sorted results to disk beyond MAX_MEMORY_ROWS.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderExportHeapTest {
+
+    private static final long OWNER_ID = 1;
+    private static final int ORDERS = 250_000;
+    private static final int LINES_PER_ORDER = 4;
+    private static final long HEAP_BOUND_BYTES = 64L * 1024 * 1024;
+    private static final long SAMPLE_EVERY_BYTES = 8L * 1024 * 1024;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:./target/export-heap-test/" + System.nanoTime()
+                + "/foodcart;MODE=MySQL;DATABASE_TO_LOWER=TRUE;MAX_MEMORY_ROWS=10000");
+    }
+
+    @BeforeAll
+    void insertOrders() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role) VALUES "
+                + "(1, 'export-owner', 'export-owner@example.com', 'x', 'ROLE_OWNER'), "
+                + "(2, 'export-customer', 'export-customer@example.com', 'x', 'ROLE_CUSTOMER')");
+        jdbcTemplate.update("INSERT INTO shops (id, shop_name, owner_id) VALUES (1, 'Export Shop', ?)", OWNER_ID);
+        jdbcTemplate.update("INSERT INTO menu_items (id, name, price, shop_id) "
+                + "SELECT n, CONCAT('Item ', n), 9.50, 1 FROM SYSTEM_RANGE(1, ?) AS r(n)", LINES_PER_ORDER);
+        jdbcTemplate.update("INSERT INTO orders (id, customer_id, shop_id, total_amount, status, created_at) "
+                + "SELECT n, 2, 1, 38.00, 'DELIVERED', TIMESTAMP '2024-01-01 00:00:00' + n * INTERVAL '1' SECOND "
+                + "FROM SYSTEM_RANGE(1, ?) AS r(n)", ORDERS);
+        jdbcTemplate.update("INSERT INTO order_items (id, order_id, menu_item_id, quantity, price_at_order) "
+                + "SELECT n, (n - 1) / ? + 1, MOD(n - 1, ?) + 1, 1, 9.50 FROM SYSTEM_RANGE(1, ?) AS r(n)",
+                LINES_PER_ORDER, LINES_PER_ORDER, ORDERS * LINES_PER_ORDER);
+    }
+
+    @Test
+    void csvExportOfAMillionLinesKeepsHeapBounded() {
+        HeapSamplingOutputStream out = export("csv");
+        assertThat(out.lines).isEqualTo(1 + (long) ORDERS * LINES_PER_ORDER);
+        assertThat(out.maxGrowth()).as("live heap growth during the export").isLessThan(HEAP_BOUND_BYTES);
+    }
+
+    @Test
+    void ndjsonExportOfAMillionLinesKeepsHeapBounded() {
+        HeapSamplingOutputStream out = export("ndjson");
+        assertThat(out.lines).isEqualTo(ORDERS);
+        assertThat(out.maxGrowth()).as("live heap growth during the export").isLessThan(HEAP_BOUND_BYTES);
+    }
+
+    private HeapSamplingOutputStream export(String format) {
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+        orderExportService.exportOrders(OWNER_ID, null, null, format, out);
+        out.sample();
+        return out;
+    }
+
+    // Discards the export, counting lines and measuring the heap that is still reachable
+    private static class HeapSamplingOutputStream extends OutputStream {
+
+        private final long baseline = liveHeap();
+        private long maxLive = baseline;
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            count(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                count(b[i]);
+            }
+        }
+
+        private void count(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+            if (++bytes % SAMPLE_EVERY_BYTES == 0) {
+                sample();
+            }
+        }
+
+        void sample() {
+            maxLive = Math.max(maxLive, liveHeap());
+        }
+
+        long maxGrowth() {
+            return maxLive - baseline;
+        }
+
+        private static long liveHeap() {
+            System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+    }
+}
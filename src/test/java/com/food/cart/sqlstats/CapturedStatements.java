@@ -0,0 +1,22 @@
+package com.food.cart.sqlstats;
+
+import java.util.List;
+
+// Records the SQL that SqlCountingDataSource sees while the work runs on this thread, exactly as
+// Hibernate or JdbcTemplate issued it
+public final class CapturedStatements {
+
+    private CapturedStatements() {
+    }
+
+    public static List<String> of(Runnable work) {
+        RequestSqlStats stats = RequestSqlStats.begin(Integer.MAX_VALUE);
+        stats.keepStatements();
+        try {
+            work.run();
+        } finally {
+            RequestSqlStats.end();
+        }
+        return stats.getStatementLog();
+    }
+}
@@ -0,0 +1,214 @@
+package com.food.cart.sqlstats;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.cart.controller.CartController;
+import com.food.cart.controller.OrderController;
+import com.food.cart.controller.OwnerController;
+import com.food.cart.controller.ShopController;
+import com.food.cart.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static com.food.cart.sqlstats.SqlStatementAssertions.assertWithinBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Every @SqlBudget endpoint, called with enough orders and menu items behind it that an N+1 would
+// push it over its budget
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(SqlBudgetIntegrationTest.BudgetProbeController.class)
+class SqlBudgetIntegrationTest {
+
+    private static final int MENU_ITEMS = 8;
+    private static final int ORDERS = 6;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String ownerToken;
+    private String customerToken;
+    private long shopId;
+
+    @BeforeAll
+    void placeOrders() throws Exception {
+        post("/api/auth/register/owner", null, Map.of(
+                "username", "budget-owner", "email", "budget-owner@example.com", "password", "secret123",
+                "shopName", "Budget Shop", "description", "d", "address", "a"));
+        post("/api/auth/register/customer", null, Map.of(
+                "username", "budget-customer", "email", "budget-customer@example.com", "password", "secret123"));
+        ownerToken = login("budget-owner");
+        customerToken = login("budget-customer");
+
+        for (int i = 1; i <= MENU_ITEMS; i++) {
+            post("/api/owner/menu", ownerToken, Map.of(
+                    "name", "Item " + i, "description", "tasty", "price", 10 + i, "imageUrl", "data:img" + i));
+        }
+        shopId = json(get("/api/owner/my-shop", ownerToken)).get("id").asLong();
+        JsonNode menu = json(get("/api/shops/" + shopId + "/menu", null));
+
+        for (int order = 0; order < ORDERS; order++) {
+            for (int i = 0; i < 3; i++) {
+                long menuItemId = menu.get((order + i) % MENU_ITEMS).get("id").asLong();
+                post("/api/cart/add", customerToken, Map.of("menuItemId", menuItemId, "quantity", 1));
+            }
+            post("/api/orders/place", customerToken, Map.of());
+        }
+        for (int i = 0; i < 3; i++) {
+            post("/api/cart/add", customerToken, Map.of("menuItemId", menu.get(i).get("id").asLong(), "quantity", 2));
+        }
+    }
+
+    @Test
+    void shopCatalogStaysWithinBudget() {
+        assertWithinBudget(get("/api/shops", null), ShopController.class, "getAllShops");
+        assertWithinBudget(get("/api/shops?sort=popular", null), ShopController.class, "getAllShops");
+        assertWithinBudget(get("/api/shops?sort=cheapest&notBusy=true", null), ShopController.class, "getAllShops");
+    }
+
+    @Test
+    void shopMenuStaysWithinBudget() {
+        assertWithinBudget(get("/api/shops/" + shopId + "/menu", null), ShopController.class, "getShopMenu");
+    }
+
+    @Test
+    void cartStaysWithinBudget() {
+        assertWithinBudget(get("/api/cart", customerToken), CartController.class, "getCart");
+    }
+
+    @Test
+    void orderHistoryStaysWithinBudget() throws Exception {
+        ResponseEntity<String> response = get("/api/orders/my-history", customerToken);
+        assertWithinBudget(response, OrderController.class, "getOrderHistory");
+        assertThat(json(response).size()).isEqualTo(ORDERS);
+    }
+
+    @Test
+    void shopOrdersStayWithinBudget() throws Exception {
+        ResponseEntity<String> response = get("/api/owner/orders", ownerToken);
+        assertWithinBudget(response, OwnerController.class, "getShopOrders");
+        assertThat(json(response).size()).isEqualTo(ORDERS);
+    }
+
+    @Test
+    void ownerStatisticsStayWithinBudget() {
+        assertWithinBudget(get("/api/owner/statistics", ownerToken), OwnerController.class, "getDashboardStats");
+    }
+
+    @Test
+    void budgetsAreEnforcedWithoutAResponseBody() {
+        assertThat(get("/api/owner/budget-probe/void-within", ownerToken).getStatusCode())
+                .isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(get("/api/owner/budget-probe/void-over", ownerToken).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void budgetsAreEnforcedOnErrorResponses() {
+        assertThat(get("/api/owner/budget-probe/error-within", ownerToken).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(get("/api/owner/budget-probe/error-over", ownerToken).getStatusCode())
+                .isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private String login(String username) throws Exception {
+        ResponseEntity<String> response = post("/api/auth/login", null,
+                Map.of("username", username, "password", "secret123"));
+        return json(response).get("token").asText();
+    }
+
+    private ResponseEntity<String> get(String path, String token) {
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(token)), String.class);
+    }
+
+    private ResponseEntity<String> post(String path, String token, Object body) {
+        ResponseEntity<String> response = rest.exchange(path, HttpMethod.POST,
+                new HttpEntity<>(body, headers(token)), String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).as("POST %s: %s", path, response.getBody()).isTrue();
+        return response;
+    }
+
+    private JsonNode json(ResponseEntity<String> response) throws Exception {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return objectMapper.readTree(response.getBody());
+    }
+
+    // Handlers that return no body or end in an error, within and over their budget. The request also
+    // counts the user lookup done while authenticating it.
+    @RestController
+    @RequestMapping("/api/owner/budget-probe")
+    static class BudgetProbeController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        BudgetProbeController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @SqlBudget(statements = 3)
+        @ResponseStatus(HttpStatus.NO_CONTENT)
+        @GetMapping("/void-within")
+        public void voidWithin() {
+            query(1);
+        }
+
+        @SqlBudget(statements = 3)
+        @ResponseStatus(HttpStatus.NO_CONTENT)
+        @GetMapping("/void-over")
+        public void voidOver() {
+            query(3);
+        }
+
+        @SqlBudget(statements = 3)
+        @GetMapping("/error-within")
+        public String errorWithin() {
+            query(1);
+            throw new ResourceNotFoundException("probe");
+        }
+
+        @SqlBudget(statements = 3)
+        @GetMapping("/error-over")
+        public String errorOver() {
+            query(3);
+            throw new ResourceNotFoundException("probe");
+        }
+
+        private void query(int times) {
+            for (int i = 0; i < times; i++) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            }
+        }
+    }
+
+    private static HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return headers;
+    }
+}
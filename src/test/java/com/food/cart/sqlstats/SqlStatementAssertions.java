@@ -0,0 +1,44 @@
+package com.food.cart.sqlstats;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Reads the statement count ServerTimingAdvice reports for a request and checks it against the
+// @SqlBudget of the handler, so the tests follow the budgets declared on the controllers
+public final class SqlStatementAssertions {
+
+    private static final Pattern STATEMENTS = Pattern.compile("desc=\"(\\d+) statements");
+
+    private SqlStatementAssertions() {
+    }
+
+    public static int statementsOf(ResponseEntity<?> response) {
+        String timing = response.getHeaders().getFirst("Server-Timing");
+        assertThat(timing).as("Server-Timing header").isNotNull();
+        Matcher matcher = STATEMENTS.matcher(timing);
+        assertThat(matcher.find()).as("statement count in %s", timing).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    public static int budgetOf(Class<?> controller, String handler) {
+        Method method = Arrays.stream(controller.getDeclaredMethods())
+                .filter(m -> m.getName().equals(handler) && m.isAnnotationPresent(SqlBudget.class))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(controller.getSimpleName() + "." + handler + " has no @SqlBudget"));
+        return method.getAnnotation(SqlBudget.class).statements();
+    }
+
+    public static void assertWithinBudget(ResponseEntity<?> response, Class<?> controller, String handler) {
+        assertThat(response.getStatusCode()).as("%s.%s status", controller.getSimpleName(), handler)
+                .isEqualTo(HttpStatus.OK);
+        assertThat(statementsOf(response)).as("SQL statements issued by %s.%s", controller.getSimpleName(), handler)
+                .isLessThanOrEqualTo(budgetOf(controller, handler));
+    }
+}